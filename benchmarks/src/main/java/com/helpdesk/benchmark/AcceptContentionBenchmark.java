@@ -0,0 +1,132 @@
+package com.helpdesk.benchmark;
+
+import com.helpdesk.entity.Request;
+import com.helpdesk.entity.RequestCategory;
+import com.helpdesk.entity.RequestUrgency;
+import com.helpdesk.entity.User;
+import com.helpdesk.entity.UserRole;
+import com.helpdesk.repository.RequestRepository;
+import com.helpdesk.repository.UserRepository;
+import com.helpdesk.service.RequestConflictException;
+import com.helpdesk.service.RequestService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 100 volunteers accepting the same HIGH-urgency request at once. Each attempt is one acceptRequest call: the
+// conditional UPDATE lets one of them win, the rest get a RequestConflictException. Once a request is taken its
+// winner moves everyone on to the next open one, so every request sees a burst of competing acceptors.
+// The score is attempts per second; the accepted and conflicts counters split it. The 100 threads share the
+// application's connection pool (10 by default), as Tomcat's workers would.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(100)
+@State(Scope.Benchmark)
+public class AcceptContentionBenchmark {
+
+    // More than the run can accept, so the acceptors never run out of open requests
+    private static final int OPEN_REQUESTS = 100_000;
+    private static final int SEED_CHUNK = 5000;
+
+    private ConfigurableApplicationContext context;
+    private RequestService requestService;
+    private List<User> volunteers;
+    private long[] requestIds;
+    private final AtomicInteger current = new AtomicInteger();
+    private final AtomicInteger nextVolunteer = new AtomicInteger();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Acceptor {
+
+        public long accepted;
+        public long conflicts;
+
+        private Long volunteerId;
+
+        @Setup
+        public void setUp(AcceptContentionBenchmark benchmark) {
+            List<User> volunteers = benchmark.volunteers;
+            volunteerId = volunteers.get(benchmark.nextVolunteer.getAndIncrement() % volunteers.size()).getId();
+        }
+
+        @Setup(Level.Iteration)
+        public void resetCounters() {
+            accepted = 0;
+            conflicts = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("caffeine");
+        requestService = context.getBean(RequestService.class);
+
+        BenchmarkApplication.seedUsers(context, 200);
+        List<User> users = context.getBean(UserRepository.class).findAll();
+        volunteers = users.stream().filter(user -> user.getRole() == UserRole.VOLUNTEER).toList();
+        User resident = users.stream().filter(user -> user.getRole() == UserRole.RESIDENT).findFirst().orElseThrow();
+
+        // Posted by a resident, so no acceptor is ever turned away for accepting their own request
+        RequestRepository requestRepository = context.getBean(RequestRepository.class);
+        LocalDateTime now = LocalDateTime.now();
+        requestIds = new long[OPEN_REQUESTS];
+        for (int start = 0; start < OPEN_REQUESTS; start += SEED_CHUNK) {
+            List<Request> chunk = new ArrayList<>(SEED_CHUNK);
+            for (int i = start; i < Math.min(start + SEED_CHUNK, OPEN_REQUESTS); i++) {
+                Request request = new Request(resident, "Urgent help needed " + i,
+                                              "Everyone nearby sees this at the same time", RequestCategory.OTHER,
+                                              RequestUrgency.HIGH);
+                request.setCreatedAt(now.minusSeconds(i));
+                chunk.add(request);
+            }
+            List<Request> saved = requestRepository.saveAll(chunk);
+            for (int i = 0; i < saved.size(); i++) {
+                requestIds[start + i] = saved.get(i).getId();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean accept(Acceptor acceptor) {
+        int round = current.get();
+        if (round >= requestIds.length) {
+            throw new IllegalStateException("Ran out of open requests; raise OPEN_REQUESTS");
+        }
+        try {
+            requestService.acceptRequest(requestIds[round], acceptor.volunteerId);
+            current.compareAndSet(round, round + 1);
+            acceptor.accepted++;
+            return true;
+        } catch (RequestConflictException e) {
+            acceptor.conflicts++;
+            return false;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.helpdesk.benchmark;
+
+import com.helpdesk.NeighborhoodHelpDeskApplication;
+import com.helpdesk.entity.Request;
+import com.helpdesk.entity.RequestCategory;
+import com.helpdesk.entity.RequestStatus;
+import com.helpdesk.entity.RequestUrgency;
+import com.helpdesk.entity.Review;
+import com.helpdesk.entity.User;
+import com.helpdesk.entity.UserRole;
+import com.helpdesk.repository.RequestRepository;
+import com.helpdesk.repository.ReviewRepository;
+import com.helpdesk.repository.UserRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Boots the real application against an in-memory H2 database (MySQL mode) and seeds it.
+// These are default properties, so -Dspring.datasource.url=... (with the matching driver; Hibernate picks the
+// dialect from the connection) passed through -jvmArgsAppend points a run at a real MySQL instead.
+final class BenchmarkApplication {
+
+    private static final RequestCategory[] CATEGORIES = RequestCategory.values();
+    private static final RequestUrgency[] URGENCIES = RequestUrgency.values();
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String cacheType, ApplicationContextInitializer<?>... initializers) {
+        return builder(cacheType, initializers).web(WebApplicationType.NONE).run();
+    }
+
+    // With the embedded Tomcat listening on a free port, for benchmarks that go through HTTP
+    static ConfigurableApplicationContext startServer(String cacheType, ApplicationContextInitializer<?>... initializers) {
+        return builder(cacheType, initializers).web(WebApplicationType.SERVLET).properties("server.port=0").run();
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    private static SpringApplicationBuilder builder(String cacheType, ApplicationContextInitializer<?>... initializers) {
+        return new SpringApplicationBuilder(NeighborhoodHelpDeskApplication.class)
+            .initializers(initializers)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "spring.jpa.open-in-view=false",
+                "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                "spring.jpa.properties.hibernate.order_inserts=true",
+                "spring.cache.type=" + cacheType,
+                "spring.cache.cache-names=openRequests,requestSearch,volunteerReviews",
+                "spring.cache.caffeine.spec=maximumSize=10000,expireAfterWrite=60s,recordStats",
+                "helpdesk.ratings.backfill=false",
+                "helpdesk.journal.enabled=false",
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN");
+    }
+
+    // Adds open requests spread over all users and a batch of reviews for the given volunteer
+    static void seed(ConfigurableApplicationContext context, int requestCount, User volunteer, int reviewCount) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        RequestRepository requestRepository = context.getBean(RequestRepository.class);
+        ReviewRepository reviewRepository = context.getBean(ReviewRepository.class);
+
+        List<User> users = userRepository.findAll();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Request> requests = new ArrayList<>(requestCount);
+        for (int i = 0; i < requestCount; i++) {
+            Request request = new Request(users.get(i % users.size()),
+                                          "Benchmark request " + i,
+                                          "Looking for a hand with task number " + i + ". ".repeat(20),
+                                          CATEGORIES[i % CATEGORIES.length],
+                                          URGENCIES[i % URGENCIES.length]);
+            request.setCreatedAt(now.minusMinutes(i));
+            requests.add(request);
+        }
+        requestRepository.saveAll(requests);
+
+        List<Review> reviews = new ArrayList<>(reviewCount);
+        for (int i = 0; i < reviewCount; i++) {
+            Request request = requests.get(i % requests.size());
+            request.setStatus(RequestStatus.COMPLETED);
+            reviews.add(new Review(request, volunteer, 1 + i % 5, "Thanks for the help #" + i));
+        }
+        requestRepository.saveAll(requests.subList(0, Math.min(reviewCount, requests.size())));
+        reviewRepository.saveAll(reviews);
+    }
+
+    // Extra members alternating between residents and volunteers, so member listings grow with the data
+    static void seedUsers(ConfigurableApplicationContext context, int userCount) {
+        List<User> users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            users.add(new User("Benchmark member " + i, "member" + i + "@benchmark.example", "not-a-password-hash",
+                               i % 2 == 0 ? UserRole.RESIDENT : UserRole.VOLUNTEER));
+        }
+        context.getBean(UserRepository.class).saveAll(users);
+    }
+
+    static User firstVolunteer(ConfigurableApplicationContext context) {
+        return context.getBean(UserRepository.class).findAll().stream()
+            .filter(user -> user.getRole() == UserRole.VOLUNTEER)
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("No volunteer seeded"));
+    }
+}
@@ -0,0 +1,91 @@
+package com.helpdesk.benchmark;
+
+import com.helpdesk.controller.CommunityController;
+import com.helpdesk.controller.RequestController;
+import com.helpdesk.controller.ReviewController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+// Controllers are called directly with the Caffeine caches warm, so the feed and review
+// numbers are dominated by the Map/HashMap response building rather than by the database.
+// Requests carry no If-None-Match, so every call builds the full response.
+// Run with -prof gc to see the allocation rate per operation.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ControllerMappingBenchmark {
+
+    @Param({"1000"})
+    private int requests;
+
+    @Param({"200"})
+    private int reviews;
+
+    private ConfigurableApplicationContext context;
+    private RequestController requestController;
+    private CommunityController communityController;
+    private ReviewController reviewController;
+    private Long volunteerId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("caffeine");
+        var volunteer = BenchmarkApplication.firstVolunteer(context);
+        BenchmarkApplication.seed(context, requests, volunteer, reviews);
+        volunteerId = volunteer.getId();
+
+        requestController = context.getBean(RequestController.class);
+        communityController = context.getBean(CommunityController.class);
+        reviewController = context.getBean(ReviewController.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> requestFeedPage() {
+        return requestController.getAllRequests(null, null, null, 20, null, 240, null, null, unconditionalGet());
+    }
+
+    @Benchmark
+    public ResponseEntity<?> requestFeedMaxPage() {
+        return requestController.getAllRequests("TOOLS", null, null, 100, null, null, null, null,
+                                                unconditionalGet());
+    }
+
+    @Benchmark
+    public ResponseEntity<?> communityMembers() {
+        return communityController.getCommunityMembers(unconditionalGet());
+    }
+
+    @Benchmark
+    public ResponseEntity<?> volunteerReviews() {
+        return reviewController.getVolunteerReviews(volunteerId, unconditionalGet());
+    }
+
+    private static ServletWebRequest unconditionalGet() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/"), new MockHttpServletResponse());
+    }
+}
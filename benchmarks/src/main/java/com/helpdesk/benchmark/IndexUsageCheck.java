@@ -0,0 +1,244 @@
+package com.helpdesk.benchmark;
+
+import com.helpdesk.entity.Assignment;
+import com.helpdesk.entity.AssignmentStatus;
+import com.helpdesk.entity.Request;
+import com.helpdesk.entity.RequestCategory;
+import com.helpdesk.entity.RequestStatus;
+import com.helpdesk.entity.RequestUrgency;
+import com.helpdesk.entity.User;
+import com.helpdesk.repository.ArchivedAssignmentRepository;
+import com.helpdesk.repository.ArchivedRequestRepository;
+import com.helpdesk.repository.ArchivedReviewRepository;
+import com.helpdesk.repository.AssignmentRepository;
+import com.helpdesk.repository.RequestRepository;
+import com.helpdesk.repository.ReviewRepository;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Fails `mvn -Pbenchmark-checks verify` (at the root, or `mvn -f benchmarks/pom.xml verify`) when a repository
+// access path loses the index declared for it. Each path is called once against a seeded database and the
+// statement it sends is run again under EXPLAIN with the same parameters: no table may be scanned in full, and the
+// declared index must exist. Against MySQL (-Dspring.datasource.url=...) the plan must pick that index itself; H2
+// only has to look the rows up through an index on the same leading column, as its planner ignores what an index
+// saves on sorting.
+public final class IndexUsageCheck {
+
+    private static final int REQUESTS = 5000;
+
+    // The index comment H2 puts after each table of a plan, e.g. /* public.idx_requests_user_created: ... */
+    private static final Pattern H2_INDEX = Pattern.compile("/\\* public\\.([\\w.]+)");
+
+    private record AccessPath(String name, String index, Consumer<Fixture> call) {
+    }
+
+    private record Fixture(ConfigurableApplicationContext context, User volunteer, Request request,
+                           LocalDateTime now) {
+
+        <T> T bean(Class<T> type) {
+            return context.getBean(type);
+        }
+    }
+
+    private static final List<AccessPath> ACCESS_PATHS = List.of(
+        // Open-request feed, first page and keyset pages, unfiltered and filtered
+        new AccessPath("RequestRepository.findFirstPage", "idx_requests_status_created", fixture ->
+            fixture.bean(RequestRepository.class).findFirstPage(RequestStatus.OPEN, null, null, 200,
+                                                                PageRequest.of(0, 20))),
+        new AccessPath("RequestRepository.findFirstPage by category", "idx_requests_status_category_created",
+            fixture -> fixture.bean(RequestRepository.class).findFirstPage(RequestStatus.OPEN, RequestCategory.TOOLS,
+                                                                           null, 200, PageRequest.of(0, 20))),
+        new AccessPath("RequestRepository.findFirstPage by urgency", "idx_requests_status_urgency_created",
+            fixture -> fixture.bean(RequestRepository.class).findFirstPage(RequestStatus.OPEN, null,
+                                                                           RequestUrgency.HIGH, 200,
+                                                                           PageRequest.of(0, 20))),
+        new AccessPath("RequestRepository.findPageBefore", "idx_requests_status_created", fixture ->
+            fixture.bean(RequestRepository.class).findPageBefore(RequestStatus.OPEN, null, null,
+                                                                 fixture.now().minusMinutes(100), Long.MAX_VALUE,
+                                                                 200, PageRequest.of(0, 20))),
+        new AccessPath("RequestRepository.findRequestsWithFilters", "idx_requests_status_category_created",
+            fixture -> fixture.bean(RequestRepository.class).findRequestsWithFilters(RequestStatus.OPEN,
+                                                                                     RequestCategory.TOOLS, null)),
+        new AccessPath("RequestRepository.findByStatusOrderByCreatedAtDesc", "idx_requests_status_created",
+            fixture -> fixture.bean(RequestRepository.class).findByStatusOrderByCreatedAtDesc(RequestStatus.OPEN)),
+        new AccessPath("RequestRepository.findByUserIdOrderByCreatedAtDesc", "idx_requests_user_created", fixture ->
+            fixture.bean(RequestRepository.class).findByUserIdOrderByCreatedAtDesc(fixture.volunteer().getId())),
+        new AccessPath("RequestRepository.findIdsToArchive", "idx_requests_status_closed", fixture ->
+            fixture.bean(RequestRepository.class).findIdsToArchive(
+                List.of(RequestStatus.COMPLETED, RequestStatus.CANCELLED), fixture.now().minusDays(90),
+                PageRequest.of(0, 500))),
+        new AccessPath("ArchivedRequestRepository.findByUserIdOrderByCreatedAtDesc",
+            "idx_requests_archive_user_created", fixture ->
+            fixture.bean(ArchivedRequestRepository.class).findByUserIdOrderByCreatedAtDesc(fixture.volunteer().getId())),
+
+        new AccessPath("ReviewRepository.findVolunteerReviews", "idx_reviews_volunteer_created", fixture ->
+            fixture.bean(ReviewRepository.class).findVolunteerReviews(fixture.volunteer().getId())),
+        new AccessPath("ReviewRepository.findByRequestIdOrderByCreatedAtDesc", "idx_reviews_request_created",
+            fixture -> fixture.bean(ReviewRepository.class).findByRequestIdOrderByCreatedAtDesc(
+                fixture.request().getId())),
+        new AccessPath("ReviewRepository.existsByRequestIdAndVolunteerId", "idx_reviews_request_volunteer", fixture ->
+            fixture.bean(ReviewRepository.class).existsByRequestIdAndVolunteerId(fixture.request().getId(),
+                                                                                 fixture.volunteer().getId())),
+        new AccessPath("ArchivedReviewRepository.findVolunteerReviews", "idx_reviews_archive_volunteer_created",
+            fixture -> fixture.bean(ArchivedReviewRepository.class).findVolunteerReviews(fixture.volunteer().getId())),
+        new AccessPath("ArchivedReviewRepository.existsByRequestIdAndVolunteerId",
+            "idx_reviews_archive_request_volunteer", fixture ->
+            fixture.bean(ArchivedReviewRepository.class).existsByRequestIdAndVolunteerId(fixture.request().getId(),
+                                                                                         fixture.volunteer().getId())),
+
+        new AccessPath("AssignmentRepository.findByVolunteerIdOrderByCreatedAtDesc",
+            "idx_assignments_volunteer_created", fixture ->
+            fixture.bean(AssignmentRepository.class).findByVolunteerIdOrderByCreatedAtDesc(fixture.volunteer().getId())),
+        new AccessPath("AssignmentRepository.countByVolunteerIdAndStatusIn", "idx_assignments_volunteer_created",
+            fixture -> fixture.bean(AssignmentRepository.class).countByVolunteerIdAndStatusIn(
+                fixture.volunteer().getId(), List.of(AssignmentStatus.ACCEPTED, AssignmentStatus.IN_PROGRESS))),
+        new AccessPath("AssignmentRepository.findCategoryAffinities", "idx_assignments_volunteer_created", fixture ->
+            fixture.bean(AssignmentRepository.class).findCategoryAffinities(fixture.volunteer().getId())),
+        new AccessPath("AssignmentRepository.findByRequestIdAndVolunteerId", "idx_assignments_request_volunteer",
+            fixture -> fixture.bean(AssignmentRepository.class).findByRequestIdAndVolunteerId(
+                fixture.request().getId(), fixture.volunteer().getId())),
+        new AccessPath("AssignmentRepository.existsByRequestIdAndStatus", "idx_assignments_request_status", fixture ->
+            fixture.bean(AssignmentRepository.class).existsByRequestIdAndStatus(fixture.request().getId(),
+                                                                                AssignmentStatus.ACCEPTED)),
+        new AccessPath("ArchivedAssignmentRepository.findCategoryAffinities",
+            "idx_assignments_archive_volunteer_request", fixture ->
+            fixture.bean(ArchivedAssignmentRepository.class).findCategoryAffinities(fixture.volunteer().getId()))
+    );
+
+    private IndexUsageCheck() {
+    }
+
+    public static void main(String[] args) throws SQLException {
+        List<String> failures = new ArrayList<>();
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start("caffeine", applicationContext ->
+                 applicationContext.getBeanFactory().addBeanPostProcessor(new StatementCounter()))) {
+            Fixture fixture = seed(context);
+            DataSource dataSource = context.getBean(DataSource.class);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            Map<String, List<String>> indexColumns = indexColumns(dataSource);
+
+            for (AccessPath path : ACCESS_PATHS) {
+                StatementCounter.reset();
+                path.call().accept(fixture);
+                List<StatementCounter.Executed> statements = StatementCounter.executed();
+
+                String problem;
+                if (!indexColumns.containsKey(path.index())) {
+                    problem = path.index() + " is missing from the schema";
+                } else if (statements.size() != 1) {
+                    problem = "expected one statement, saw " + statements.size();
+                } else {
+                    problem = checkPlan(jdbcTemplate, statements.get(0), path.index(), indexColumns);
+                }
+                System.out.printf("%-64s %s%n", path.name(), problem == null ? "ok" : "FAILED");
+                if (problem != null) {
+                    failures.add(path.name() + ": " + problem);
+                }
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Access paths without their index:\n  " + String.join("\n  ", failures));
+        }
+        System.out.println("Every access path is served by its declared index");
+    }
+
+    // Null when the plan is acceptable, otherwise what is wrong with it
+    private static String checkPlan(JdbcTemplate jdbcTemplate, StatementCounter.Executed statement, String index,
+                                    Map<String, List<String>> indexColumns) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("EXPLAIN " + statement.sql(),
+                                                                   statement.parameters().values().toArray());
+        if (!rows.isEmpty() && rows.get(0).containsKey("key")) {
+            // MySQL: one row per table; type ALL is a full scan, key the index chosen
+            for (Map<String, Object> row : rows) {
+                if ("ALL".equals(row.get("type"))) {
+                    return "full scan of " + row.get("table") + " in " + rows;
+                }
+                if (index.equalsIgnoreCase(String.valueOf(row.get("key")))) {
+                    return null;
+                }
+            }
+            return "plan does not use " + index + ": " + rows;
+        }
+
+        // H2: the plan names the index behind each table, or tableScan. H2 never uses an index to skip a sort,
+        // so of several indexes with the same leading column it takes any; the declared one is only required to
+        // lead with the column the lookup uses.
+        String plan = String.valueOf(rows.get(0).values().iterator().next());
+        Matcher matcher = H2_INDEX.matcher(plan);
+        List<String> declared = indexColumns.get(index);
+        while (matcher.find()) {
+            String chosen = matcher.group(1).toLowerCase(Locale.ROOT);
+            if (chosen.endsWith(".tablescan")) {
+                return "full scan of " + chosen.substring(0, chosen.indexOf('.')) + " in " + statement.sql();
+            }
+            List<String> columns = indexColumns.get(chosen);
+            if (columns != null && columns.get(0).equals(declared.get(0))) {
+                return null;
+            }
+        }
+        return "no index on " + declared.get(0) + " used: " + plan;
+    }
+
+    // Lower-case index name to its columns in order, for the tables the access paths read
+    private static Map<String, List<String>> indexColumns(DataSource dataSource) throws SQLException {
+        Map<String, List<String>> columns = new HashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String table : List.of("requests", "reviews", "assignments", "requests_archive", "reviews_archive",
+                                         "assignments_archive")) {
+                try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), null, table, false, false)) {
+                    while (indexes.next()) {
+                        String name = indexes.getString("INDEX_NAME");
+                        if (name != null) {
+                            columns.computeIfAbsent(name.toLowerCase(Locale.ROOT), key -> new ArrayList<>())
+                                   .add(indexes.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                        }
+                    }
+                }
+            }
+        }
+        return columns;
+    }
+
+    // Open and completed requests, reviews and assignments for the first volunteer, and closed requests stamped
+    // with their closing time
+    private static Fixture seed(ConfigurableApplicationContext context) {
+        RequestRepository requestRepository = context.getBean(RequestRepository.class);
+        AssignmentRepository assignmentRepository = context.getBean(AssignmentRepository.class);
+
+        BenchmarkApplication.seedUsers(context, REQUESTS / 10);
+        User volunteer = BenchmarkApplication.firstVolunteer(context);
+        BenchmarkApplication.seed(context, REQUESTS, volunteer, REQUESTS / 5);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Request> completed = requestRepository.findByStatus(RequestStatus.COMPLETED);
+        List<Assignment> assignments = new ArrayList<>(completed.size());
+        for (Request request : completed) {
+            assignments.add(new Assignment(request, volunteer));
+        }
+        assignmentRepository.saveAll(assignments);
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status ->
+            requestRepository.stampClosedAt(List.of(RequestStatus.COMPLETED), now.minusDays(120)));
+
+        return new Fixture(context, volunteer, completed.get(0), now);
+    }
+}
@@ -0,0 +1,99 @@
+package com.helpdesk.benchmark;
+
+import com.helpdesk.entity.RequestCategory;
+import com.helpdesk.entity.RequestUrgency;
+import com.helpdesk.service.GeoGridIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Radius search over open requests spread across a 60 x 60 km metro area: the grid index against checking
+// the distance of every open request, which is what filtering without a spatial index comes down to.
+// No database involved; both sides see the same in-memory points.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NearbyBenchmark {
+
+    private static final double CENTER_LATITUDE = 52.52;
+    private static final double CENTER_LONGITUDE = 13.40;
+    // Roughly 30 km in each direction at this latitude
+    private static final double LATITUDE_SPREAD = 0.27;
+    private static final double LONGITUDE_SPREAD = 0.44;
+    // A power of two, so the benchmarks can cycle through them with a mask
+    private static final int QUERY_POINTS = 1024;
+
+    @Param({"100000", "300000"})
+    private int requests;
+
+    @Param({"2", "10"})
+    private double radiusKm;
+
+    private GeoGridIndex index;
+    private GeoGridIndex.Entry[] entries;
+    private double[][] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        RequestCategory[] categories = RequestCategory.values();
+        RequestUrgency[] urgencies = RequestUrgency.values();
+        LocalDateTime now = LocalDateTime.now();
+
+        index = new GeoGridIndex();
+        entries = new GeoGridIndex.Entry[requests];
+        for (int i = 0; i < requests; i++) {
+            GeoGridIndex.Entry entry = new GeoGridIndex.Entry((long) i + 1,
+                CENTER_LATITUDE + (random.nextDouble() * 2 - 1) * LATITUDE_SPREAD,
+                CENTER_LONGITUDE + (random.nextDouble() * 2 - 1) * LONGITUDE_SPREAD,
+                categories[i % categories.length], urgencies[i % urgencies.length], now.minusMinutes(i));
+            entries[i] = entry;
+            index.put(entry);
+        }
+
+        queries = new double[QUERY_POINTS][];
+        for (int i = 0; i < QUERY_POINTS; i++) {
+            queries[i] = new double[] {
+                CENTER_LATITUDE + (random.nextDouble() * 2 - 1) * LATITUDE_SPREAD,
+                CENTER_LONGITUDE + (random.nextDouble() * 2 - 1) * LONGITUDE_SPREAD
+            };
+        }
+    }
+
+    @Benchmark
+    public List<GeoGridIndex.Match> gridIndex() {
+        double[] query = queries[next++ & (QUERY_POINTS - 1)];
+        return index.within(query[0], query[1], radiusKm, entry -> true);
+    }
+
+    @Benchmark
+    public List<GeoGridIndex.Match> linearScan() {
+        double[] query = queries[next++ & (QUERY_POINTS - 1)];
+        List<GeoGridIndex.Match> matches = new ArrayList<>();
+        for (GeoGridIndex.Entry entry : entries) {
+            double distance = GeoGridIndex.distanceKm(query[0], query[1], entry.latitude(), entry.longitude());
+            if (distance <= radiusKm) {
+                matches.add(new GeoGridIndex.Match(entry, distance));
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,82 @@
+package com.helpdesk.benchmark;
+
+import com.helpdesk.controller.CommunityController;
+import com.helpdesk.entity.RequestCategory;
+import com.helpdesk.entity.RequestUrgency;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+// Small per-request helpers, measured on their own without a Spring context
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParsingBenchmark {
+
+    // Mixed case the way query strings arrive from the frontend
+    private static final String[] CATEGORY_PARAMS = {"tools", "TUTORING", "Errands", "transportation", "gardening", "other"};
+    private static final String[] URGENCY_PARAMS = {"low", "MEDIUM", "High"};
+
+    private static final MethodHandle CALCULATE_ACTIVITY_LEVEL;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(CommunityController.class, MethodHandles.lookup());
+            CALCULATE_ACTIVITY_LEVEL = lookup.findVirtual(CommunityController.class, "calculateActivityLevel",
+                MethodType.methodType(String.class, int.class, int.class, double.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private CommunityController communityController;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        communityController = new CommunityController();
+    }
+
+    @Benchmark
+    public RequestCategory parseCategory() {
+        String param = CATEGORY_PARAMS[index++ % CATEGORY_PARAMS.length];
+        return RequestCategory.valueOf(param.toUpperCase());
+    }
+
+    @Benchmark
+    public RequestUrgency parseUrgency() {
+        String param = URGENCY_PARAMS[index++ % URGENCY_PARAMS.length];
+        return RequestUrgency.valueOf(param.toUpperCase());
+    }
+
+    @Benchmark
+    public Object parseInvalidCategory() {
+        // The controller turns this exception into a 400, so its cost is part of the bad-request path
+        try {
+            return RequestCategory.valueOf("PLUMBING");
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public String calculateActivityLevel() throws Throwable {
+        int i = index++;
+        return (String) CALCULATE_ACTIVITY_LEVEL.invokeExact(communityController, i % 12, i % 7, 3.0 + (i % 3));
+    }
+}
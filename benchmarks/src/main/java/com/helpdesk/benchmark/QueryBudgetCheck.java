@@ -0,0 +1,142 @@
+package com.helpdesk.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helpdesk.controller.CommunityController;
+import com.helpdesk.controller.RequestController;
+import com.helpdesk.controller.ReviewController;
+import com.helpdesk.dto.AuthenticatedUser;
+import com.helpdesk.entity.UserRole;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+// Fails `mvn -Pbenchmark-checks verify` (at the root, or `mvn -f benchmarks/pom.xml verify`) when the number of
+// JDBC statements behind an endpoint differs from its budget at any data size, which is how an N+1 shows up. For each size the application boots against a
+// fresh H2 database, is seeded, and has its controllers called directly with every cache cleared first, so
+// each call takes the path of a cache miss. Responses are serialized inside the count, because StreamedArray
+// bodies convert their rows while they are written.
+public final class QueryBudgetCheck {
+
+    // Requests seeded per run; members and reviews scale along
+    private static final int[] SIZES = {50, 500, 5000};
+
+    private record Endpoint(String name, int budget,
+                            BiFunction<ConfigurableApplicationContext, Long, ResponseEntity<?>> call) {
+    }
+
+    // Each read budget includes the one query for the content versions behind the ETag and cache keys
+    private static final List<Endpoint> ENDPOINTS = List.of(
+        // Versions, then the feed page as one joined projection
+        new Endpoint("GET /api/requests", 2, (context, volunteerId) ->
+            context.getBean(RequestController.class)
+                   .getAllRequests(null, null, null, 20, null, null, null, null, unconditionalGet())),
+        new Endpoint("GET /api/requests?category=TOOLS", 2, (context, volunteerId) ->
+            context.getBean(RequestController.class)
+                   .getAllRequests("TOOLS", null, null, 100, null, null, null, null, unconditionalGet())),
+        // Versions, then the volunteer's hot and archived requests
+        new Endpoint("GET /api/requests/users/{id}", 3, (context, volunteerId) ->
+            context.getBean(RequestController.class).getRequestsByUser(volunteerId, unconditionalGet())),
+        // Versions, then every member with their counts as one aggregate query
+        new Endpoint("GET /api/community/members", 2, (context, volunteerId) ->
+            context.getBean(CommunityController.class).getCommunityMembers(unconditionalGet())),
+        // Versions, the member (a second-level cache miss here), then their requests and the reviews they received,
+        // each read from the hot table and from the archive
+        new Endpoint("GET /api/community/members/{id}", 6, (context, volunteerId) ->
+            context.getBean(CommunityController.class).getMemberDetails(volunteerId, unconditionalGet())),
+        // Versions, then the volunteer's hot and archived reviews with their request titles
+        new Endpoint("GET /api/reviews/volunteers/{id}", 3, (context, volunteerId) ->
+            context.getBean(ReviewController.class).getVolunteerReviews(volunteerId, unconditionalGet())),
+        // The insert alone: with a token the requester is only referenced, and the change event takes their name
+        // and rating from the token
+        new Endpoint("POST /api/requests (signed in)", 1, (context, volunteerId) ->
+            context.getBean(RequestController.class).createRequest(Map.of(
+                "title", "Budget check", "description", "Counting statements", "category", "OTHER",
+                "urgency", "LOW"), new AuthenticatedUser(volunteerId, UserRole.VOLUNTEER, "Volunteer", 4.5)))
+    );
+
+    private QueryBudgetCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, List<Long>> counts = new LinkedHashMap<>();
+        for (Endpoint endpoint : ENDPOINTS) {
+            counts.put(endpoint.name(), new ArrayList<>());
+        }
+
+        for (int size : SIZES) {
+            try (ConfigurableApplicationContext context = BenchmarkApplication.start("caffeine", applicationContext ->
+                     applicationContext.getBeanFactory().addBeanPostProcessor(new StatementCounter()))) {
+                BenchmarkApplication.seedUsers(context, size / 10);
+                var volunteer = BenchmarkApplication.firstVolunteer(context);
+                BenchmarkApplication.seed(context, size, volunteer, size / 5);
+
+                for (Endpoint endpoint : ENDPOINTS) {
+                    // The first call also pays for one-off work such as building query plans
+                    call(context, endpoint, volunteer.getId());
+                    counts.get(endpoint.name()).add(call(context, endpoint, volunteer.getId()));
+                }
+            }
+        }
+
+        List<String> failures = new ArrayList<>();
+        System.out.printf("%n%-36s %8s  statements at %s requests%n", "Endpoint", "Budget",
+                          Arrays.toString(SIZES));
+        for (Endpoint endpoint : ENDPOINTS) {
+            List<Long> endpointCounts = counts.get(endpoint.name());
+            System.out.printf("%-36s %8d  %s%n", endpoint.name(), endpoint.budget(), endpointCounts);
+
+            if (endpointCounts.stream().distinct().count() > 1) {
+                failures.add(endpoint.name() + " runs more statements as the data grows: " + endpointCounts);
+            } else if (endpointCounts.get(0) != endpoint.budget()) {
+                failures.add(endpoint.name() + " runs " + endpointCounts.get(0) + " statements, budget is "
+                             + endpoint.budget() + " (update the budget if the change is intended)");
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Query budget exceeded:\n  " + String.join("\n  ", failures));
+        }
+        System.out.println("All endpoints within their query budgets");
+    }
+
+    // Statements for one cold call, serialization included
+    private static long call(ConfigurableApplicationContext context, Endpoint endpoint, Long volunteerId)
+            throws Exception {
+        CacheManager cacheManager = context.getBean(CacheManager.class);
+        for (String name : cacheManager.getCacheNames()) {
+            cacheManager.getCache(name).clear();
+        }
+        context.getBean(EntityManagerFactory.class).getCache().evictAll();
+
+        // Bound as for a real request, which reads the content versions once for its ETag and cache keys
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            StatementCounter.reset();
+            ResponseEntity<?> response = endpoint.call().apply(context, volunteerId);
+            if (response == null || !response.getStatusCode().is2xxSuccessful()) {
+                throw new IllegalStateException(endpoint.name() + " failed: " + response);
+            }
+            context.getBean(ObjectMapper.class).writeValueAsBytes(response.getBody());
+            return StatementCounter.count();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private static ServletWebRequest unconditionalGet() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/"), new MockHttpServletResponse());
+    }
+}
@@ -0,0 +1,73 @@
+package com.helpdesk.benchmark;
+
+import com.helpdesk.dto.RequestFeedItem;
+import com.helpdesk.dto.VolunteerRecommendations;
+import com.helpdesk.entity.RequestStatus;
+import com.helpdesk.entity.User;
+import com.helpdesk.repository.RequestRepository;
+import com.helpdesk.service.RecommendationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Top-10 recommendations from the in-memory index, against reading every open request from the
+// embedded database (what ranking without the index would have to do before scoring anything)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecommendationBenchmark {
+
+    @Param({"10000", "100000"})
+    private int requests;
+
+    private ConfigurableApplicationContext context;
+    private RecommendationService recommendationService;
+    private RequestRepository requestRepository;
+    private Long volunteerId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("none");
+        User volunteer = BenchmarkApplication.firstVolunteer(context);
+        BenchmarkApplication.seed(context, requests, volunteer, 200);
+        volunteerId = volunteer.getId();
+
+        recommendationService = context.getBean(RecommendationService.class);
+        requestRepository = context.getBean(RequestRepository.class);
+        // Seeding writes through the repositories, which publish no change events
+        recommendationService.rebuildIndex();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public VolunteerRecommendations indexedTop10() {
+        return recommendationService.recommend(volunteerId, 10);
+    }
+
+    @Benchmark
+    public List<RequestFeedItem> scanOpenRequests() {
+        return requestRepository.findFirstPage(RequestStatus.OPEN, null, null,
+            RecommendationService.DESCRIPTION_PREVIEW_LENGTH + 1, PageRequest.of(0, requests));
+    }
+}
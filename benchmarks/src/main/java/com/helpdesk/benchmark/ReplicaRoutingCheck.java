@@ -0,0 +1,181 @@
+package com.helpdesk.benchmark;
+
+import com.helpdesk.dto.AuthenticatedUser;
+import com.helpdesk.entity.RequestCategory;
+import com.helpdesk.entity.RequestUrgency;
+import com.helpdesk.entity.User;
+import com.helpdesk.service.RequestService;
+import com.helpdesk.service.UserService;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Fails `mvn -f benchmarks/pom.xml verify` when read-only transactions stop reaching the replica or a write
+// does not reach the primary. The application boots with two H2 databases as primary and replica; the replica
+// starts as a copy of the primary and is never replicated to afterwards, so how many requests a member has
+// tells which database answered. Hibernate's second-level and query caches are enabled to check that rows read
+// from the replica are never put into them.
+public final class ReplicaRoutingCheck {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final List<String> failures = new ArrayList<>();
+
+    private ReplicaRoutingCheck() {
+    }
+
+    public static void main(String[] args) {
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start("caffeine", applicationContext ->
+                 applicationContext.getEnvironment().getPropertySources().addFirst(new MapPropertySource("replica", Map.of(
+                     "spring.datasource.url", PRIMARY_URL,
+                     "helpdesk.datasource.replica.url", REPLICA_URL,
+                     // Long enough not to expire while the check runs
+                     "helpdesk.datasource.replica.read-your-writes-seconds", "60",
+                     "spring.jpa.properties.hibernate.cache.use_second_level_cache", "true",
+                     "spring.jpa.properties.hibernate.cache.use_query_cache", "true",
+                     "spring.jpa.properties.hibernate.cache.region.factory_class", "jcache",
+                     "spring.jpa.properties.hibernate.javax.cache.provider", "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+                     "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy", "create",
+                     "spring.jpa.properties.hibernate.generate_statistics", "true"))))) {
+            RequestService requestService = context.getBean(RequestService.class);
+            UserService userService = context.getBean(UserService.class);
+            SessionFactory sessionFactory = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class);
+            copyPrimaryToReplica(context);
+            User member = BenchmarkApplication.firstVolunteer(context);
+
+            // Outside any HTTP request nobody is tracked, so the write only moves the primary ahead
+            int replicaCount = requestService.getRequestsByUser(member.getId()).size();
+            createRequest(requestService, member, "Written before the request");
+            int primaryCount = replicaCount + 1;
+
+            // One HTTP request that reads, then writes, then reads again
+            withRequest(member, "10.0.0.1", () -> {
+                expect("Read-only transaction goes to the replica",
+                       replicaCount, requestService.getRequestsByUser(member.getId()).size());
+                createRequest(requestService, member, "Written after a read in the same request");
+                expect("Read-only transaction after the client's own write goes to the primary",
+                       primaryCount + 1, requestService.getRequestsByUser(member.getId()).size());
+            });
+
+            withRequest(null, "10.0.0.2", () ->
+                expect("Other clients keep reading from the replica",
+                       replicaCount, requestService.getRequestsByUser(member.getId()).size()));
+
+            // The member, loaded by id and by email, first by a client reading from the replica and then by one
+            // reading from the primary after its own write
+            withRequest(null, "10.0.0.3", () ->
+                expectCachePuts("Entities read from the replica are not put in the second-level cache",
+                                false, sessionFactory, () -> {
+                                    userService.findById(member.getId());
+                                    userService.findByEmail(member.getEmail());
+                                }));
+            withRequest(member, "10.0.0.1", () ->
+                expectCachePuts("Entities read from the primary still fill the second-level cache",
+                                true, sessionFactory, () -> {
+                                    userService.findById(member.getId());
+                                    userService.findByEmail(member.getEmail());
+                                }));
+
+            // Member stats fill the query cache, so even a client that reads from the replica gets them from the
+            // primary, and puts them in the cache
+            withRequest(null, "10.0.0.3", () -> {
+                sessionFactory.getCache().evictAllRegions();
+                expect("Member stats are read from the primary",
+                       primaryCount + 1, requestCount(userService, member));
+                expect("Cached member stats are the primary's",
+                       primaryCount + 1, requestCount(userService, member));
+            });
+
+            context.getBean("replicaDataSource", HikariDataSource.class).close();
+            withRequest(null, "10.0.0.2", () ->
+                expect("Reads fall back to the primary while the replica is down",
+                       primaryCount + 1, requestService.getRequestsByUser(member.getId()).size()));
+        }
+
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Replica routing broken:\n  " + String.join("\n  ", failures));
+        }
+        System.out.println("Read-only transactions reach the replica, writes the primary");
+    }
+
+    // Schema and seed data, as a freshly attached replica would have them
+    private static void copyPrimaryToReplica(ConfigurableApplicationContext context) {
+        JdbcTemplate primary = new JdbcTemplate(context.getBean("primaryDataSource", HikariDataSource.class));
+        JdbcTemplate replica = new JdbcTemplate(context.getBean("replicaDataSource", HikariDataSource.class));
+        for (String statement : primary.queryForList("SCRIPT", String.class)) {
+            if (!statement.startsWith("--")) {
+                replica.execute(statement);
+            }
+        }
+    }
+
+    private static void createRequest(RequestService requestService, User member, String title) {
+        requestService.createRequest(principal(member), title, "Checking where writes go", RequestCategory.OTHER,
+                                     RequestUrgency.LOW, null, null);
+    }
+
+    // Binds the request and, for a signed-in member, the principal, as the web layer does for each request
+    private static void withRequest(User member, String remoteAddress, Runnable body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.setRemoteAddr(remoteAddress);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        if (member != null) {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal(member), null, List.of()));
+        }
+        try {
+            body.run();
+        } finally {
+            SecurityContextHolder.clearContext();
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private static AuthenticatedUser principal(User member) {
+        return new AuthenticatedUser(member.getId(), member.getRole(), member.getName(), member.getRating());
+    }
+
+    private static void expect(String rule, int expectedRequests, int actualRequests) {
+        check(rule, expectedRequests == actualRequests,
+              "expected " + expectedRequests + " requests, saw " + actualRequests);
+    }
+
+    private static int requestCount(UserService userService, User member) {
+        return userService.getMemberStats().stream()
+            .filter(stats -> stats.id().equals(member.getId()))
+            .mapToInt(stats -> stats.requestCount().intValue())
+            .findFirst()
+            .orElse(-1);
+    }
+
+    // Starts from empty caches, so every entity and query result read by the body is a candidate for a put
+    private static void expectCachePuts(String rule, boolean expected, SessionFactory sessionFactory, Runnable body) {
+        sessionFactory.getCache().evictAllRegions();
+        Statistics statistics = sessionFactory.getStatistics();
+        long before = statistics.getSecondLevelCachePutCount() + statistics.getQueryCachePutCount();
+        body.run();
+        long puts = statistics.getSecondLevelCachePutCount() + statistics.getQueryCachePutCount() - before;
+        check(rule, (puts > 0) == expected, puts + " cache puts");
+    }
+
+    private static void check(String rule, boolean holds, String detail) {
+        System.out.printf("%-80s %s%n", rule, holds ? "ok" : "FAILED");
+        if (!holds) {
+            failures.add(rule + ": " + detail);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.helpdesk.benchmark;
+
+import com.helpdesk.entity.Request;
+import com.helpdesk.entity.RequestCategory;
+import com.helpdesk.entity.RequestUrgency;
+import com.helpdesk.entity.User;
+import com.helpdesk.repository.UserRepository;
+import com.helpdesk.service.RequestService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Rows per second for the batch endpoint's service call against one createRequest per row
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(RequestInsertBenchmark.ROWS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestInsertBenchmark {
+
+    static final int ROWS = 200;
+
+    private ConfigurableApplicationContext context;
+    private RequestService requestService;
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("caffeine");
+        requestService = context.getBean(RequestService.class);
+        users = context.getBean(UserRepository.class).findAll();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void perRowCreateRequest() {
+        for (int i = 0; i < ROWS; i++) {
+            requestService.createRequest(users.get(i % users.size()), "Benchmark insert " + i,
+                                         "Inserted one request at a time", RequestCategory.OTHER, RequestUrgency.LOW,
+                                         null, null);
+        }
+    }
+
+    @Benchmark
+    public List<Request> batchedCreateRequests() {
+        List<Request> requests = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            requests.add(new Request(users.get(i % users.size()), "Benchmark insert " + i,
+                                     "Inserted as one JDBC batch", RequestCategory.OTHER, RequestUrgency.LOW));
+        }
+        return requestService.createRequests(requests);
+    }
+}
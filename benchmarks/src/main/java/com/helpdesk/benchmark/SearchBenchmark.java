@@ -0,0 +1,142 @@
+package com.helpdesk.benchmark;
+
+import com.helpdesk.dto.RequestFeedItem;
+import com.helpdesk.entity.Request;
+import com.helpdesk.entity.RequestCategory;
+import com.helpdesk.entity.RequestStatus;
+import com.helpdesk.entity.RequestUrgency;
+import com.helpdesk.entity.User;
+import com.helpdesk.repository.RequestRepository;
+import com.helpdesk.repository.UserRepository;
+import com.helpdesk.service.RequestService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Keyword search over open requests as the dashboard sends it: the FULLTEXT path behind searchOpenRequestsPage
+// against the LOWER(...) LIKE '%term%' scan it replaced, over the same rows and without the result cache.
+// H2 has no MATCH ... AGAINST, so this one only runs against MySQL, e.g.
+//   java -jar benchmarks/target/benchmarks.jar SearchBenchmark -jvmArgsAppend "
+//     -Dspring.datasource.url=jdbc:mysql://localhost:3306/helpdesk_benchmark?rewriteBatchedStatements=true
+//     -Dspring.datasource.driver-class-name=com.mysql.cj.jdbc.Driver
+//     -Dspring.datasource.username=... -Dspring.datasource.password=..."
+// Seeding 100k rows takes a while; the schema is dropped again when the run ends.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    private static final String[] WORDS = {
+        "ladder", "lawn", "mower", "groceries", "pharmacy", "moving", "boxes", "bicycle", "repair", "garden",
+        "hedge", "trimmer", "drill", "shelves", "furniture", "assembly", "dog", "walking", "babysitting", "tutoring",
+        "math", "homework", "computer", "printer", "wifi", "router", "painting", "fence", "gutter", "cleaning",
+        "snow", "shovel", "firewood", "plumbing", "faucet", "leak", "curtains", "lamp", "wiring", "sewing",
+        "alterations", "cooking", "meals", "elderly", "neighbor", "transport", "doctor", "appointment", "airport",
+        "pickup", "recycling", "compost", "tree", "branches", "roof", "tiles", "window", "glass", "bookshelf", "piano"
+    };
+
+    private static final String[] QUERIES = {
+        "ladder", "lawn mower", "groceries pharmacy", "bicycle repair", "piano", "dog walking", "printer wifi",
+        "snow shovel", "furniture assembly", "doctor appointment", "gutter cleaning", "window glass"
+    };
+
+    private static final int SEED_CHUNK = 5000;
+
+    @Param({"100000"})
+    private int requests;
+
+    private ConfigurableApplicationContext context;
+    private RequestService requestService;
+    private JdbcTemplate jdbcTemplate;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("none");
+        requestService = context.getBean(RequestService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        seed();
+
+        try {
+            requestService.searchOpenRequestsPage(null, null, QUERIES[0], 0, 20, 240);
+        } catch (DataAccessException e) {
+            context.close();
+            throw new IllegalStateException("SearchBenchmark needs MySQL with the full-text index; "
+                                            + "see the comment on the class", e);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<RequestFeedItem> fullTextSearch() {
+        return requestService.searchOpenRequestsPage(null, null, QUERIES[next++ % QUERIES.length], 0, 20, 240);
+    }
+
+    @Benchmark
+    public List<Long> likeScan() {
+        String pattern = "%" + QUERIES[next++ % QUERIES.length] + "%";
+        return jdbcTemplate.queryForList(
+            "SELECT r.id FROM requests r WHERE r.status = 'OPEN' AND " +
+            "(LOWER(r.title) LIKE ? OR LOWER(r.description) LIKE ?) " +
+            "ORDER BY r.created_at DESC, r.id DESC LIMIT 20",
+            Long.class, pattern, pattern);
+    }
+
+    // Titles and descriptions drawn from a small vocabulary, so each query word matches a few percent of the
+    // rows and relevance has something to rank; one request in ten is already completed
+    private void seed() {
+        BenchmarkApplication.seedUsers(context, 1000);
+        List<User> users = context.getBean(UserRepository.class).findAll();
+        RequestRepository requestRepository = context.getBean(RequestRepository.class);
+        RequestCategory[] categories = RequestCategory.values();
+        RequestUrgency[] urgencies = RequestUrgency.values();
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int start = 0; start < requests; start += SEED_CHUNK) {
+            List<Request> chunk = new ArrayList<>(SEED_CHUNK);
+            for (int i = start; i < Math.min(start + SEED_CHUNK, requests); i++) {
+                Request request = new Request(users.get(i % users.size()),
+                                              "Help with " + word(random) + " and " + word(random),
+                                              "Looking for a neighbor who knows about " + word(random) + ", "
+                                              + word(random) + " or " + word(random) + ". Request number " + i + ".",
+                                              categories[i % categories.length], urgencies[i % urgencies.length]);
+                request.setCreatedAt(now.minusMinutes(i));
+                if (i % 10 == 0) {
+                    request.setStatus(RequestStatus.COMPLETED);
+                }
+                chunk.add(request);
+            }
+            requestRepository.saveAll(chunk);
+        }
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
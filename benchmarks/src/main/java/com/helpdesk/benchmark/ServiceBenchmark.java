@@ -0,0 +1,95 @@
+package com.helpdesk.benchmark;
+
+import com.helpdesk.dto.MemberStats;
+import com.helpdesk.dto.RequestFeedItem;
+import com.helpdesk.dto.VolunteerReview;
+import com.helpdesk.entity.RequestCategory;
+import com.helpdesk.entity.User;
+import com.helpdesk.service.RequestService;
+import com.helpdesk.service.ReviewService;
+import com.helpdesk.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Service methods against the embedded database. With cache=none every call reaches
+// the repository, with cache=caffeine it shows what a warm cache saves.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceBenchmark {
+
+    @Param({"none", "caffeine"})
+    private String cache;
+
+    @Param({"1000"})
+    private int requests;
+
+    @Param({"200"})
+    private int reviews;
+
+    private ConfigurableApplicationContext context;
+    private RequestService requestService;
+    private UserService userService;
+    private ReviewService reviewService;
+    private Long volunteerId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(cache);
+        User volunteer = BenchmarkApplication.firstVolunteer(context);
+        BenchmarkApplication.seed(context, requests, volunteer, reviews);
+        volunteerId = volunteer.getId();
+
+        requestService = context.getBean(RequestService.class);
+        userService = context.getBean(UserService.class);
+        reviewService = context.getBean(ReviewService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<RequestFeedItem> openRequestsFirstPage() {
+        return requestService.getOpenRequestsPage(null, null, null, null, 21, 241);
+    }
+
+    @Benchmark
+    public List<RequestFeedItem> openRequestsByCategory() {
+        return requestService.getOpenRequestsPage(RequestCategory.TOOLS, null, null, null, 101, 65535);
+    }
+
+    @Benchmark
+    public List<MemberStats> memberStats() {
+        return userService.getMemberStats();
+    }
+
+    @Benchmark
+    public List<VolunteerReview> volunteerReviews() {
+        return reviewService.getReviewsForVolunteer(volunteerId);
+    }
+
+    @Benchmark
+    public Optional<User> findUserById() {
+        return userService.findById(volunteerId);
+    }
+}
@@ -0,0 +1,104 @@
+package com.helpdesk.benchmark;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Wraps every DataSource bean in JDK proxies that count the JDBC statements executed by the calling thread.
+// Per thread, so scheduled work running meanwhile is not counted; a JDBC batch counts once, as one round trip.
+// Prepared statements are also kept with their parameters, so they can be run again under EXPLAIN.
+final class StatementCounter implements BeanPostProcessor {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+        "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+    private static final ThreadLocal<List<Executed>> EXECUTED = ThreadLocal.withInitial(ArrayList::new);
+
+    // Parameters by index, as bound through the setXxx(index, value) methods
+    record Executed(String sql, Map<Integer, Object> parameters) {
+    }
+
+    static void reset() {
+        COUNT.get()[0] = 0;
+        EXECUTED.get().clear();
+    }
+
+    static long count() {
+        return COUNT.get()[0];
+    }
+
+    static List<Executed> executed() {
+        return List.copyOf(EXECUTED.get());
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (target, method, args, result) ->
+                result instanceof Connection connection && method.getName().equals("getConnection")
+                    ? proxy(Connection.class, connection, StatementCounter::wrapStatement)
+                    : result);
+        }
+        return bean;
+    }
+
+    private static Object wrapStatement(Object connection, Method method, Object[] args, Object result) {
+        if (result instanceof Statement statement) {
+            String sql = statement instanceof PreparedStatement && args != null && args[0] instanceof String text
+                ? text : null;
+            // The declared return type keeps PreparedStatement and CallableStatement usable through the proxy
+            return Proxy.newProxyInstance(StatementCounter.class.getClassLoader(),
+                new Class<?>[]{method.getReturnType()}, statementHandler(statement, sql));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, ResultWrapper wrapper) {
+        return (T) Proxy.newProxyInstance(StatementCounter.class.getClassLoader(), new Class<?>[]{type},
+            (proxy, method, args) -> wrapper.wrap(target, method, args, invoke(target, method, args)));
+    }
+
+    private static InvocationHandler statementHandler(Statement target, String sql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return (proxy, method, args) -> {
+            String name = method.getName();
+            if (EXECUTE_METHODS.contains(name)) {
+                COUNT.get()[0]++;
+                if (sql != null) {
+                    EXECUTED.get().add(new Executed(sql, new TreeMap<>(parameters)));
+                }
+            } else if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            }
+            return invoke(target, method, args);
+        };
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private interface ResultWrapper {
+        Object wrap(Object target, Method method, Object[] args, Object result) throws Throwable;
+    }
+}
@@ -0,0 +1,190 @@
+package com.helpdesk.benchmark;
+
+import com.helpdesk.entity.Request;
+import com.helpdesk.entity.RequestCategory;
+import com.helpdesk.entity.RequestUrgency;
+import com.helpdesk.entity.User;
+import com.helpdesk.entity.UserRole;
+import com.helpdesk.repository.RequestRepository;
+import com.helpdesk.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// The feed and the accept endpoint over HTTP with 400 concurrent clients, twice as many as Tomcat has platform
+// worker threads, served either by those or by virtual threads with the pool settings of the virtual-threads
+// profile (mirrored here, as this module does not load the application's properties files). Throughput and
+// SampleTime modes give requests per second and the latency percentiles, p0.99 included. Without caches, so
+// every request blocks on JDBC. Needs Java 21 for the virtual mode:
+//   $JAVA_21_HOME/bin/java -jar benchmarks/target/benchmarks.jar ThreadModeBenchmark
+// Pinned virtual threads are reported on stdout (jdk.tracePinnedThreads). Against H2 the "database" costs no
+// I/O wait; point it at MySQL as described in BenchmarkApplication for numbers that reflect production.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.tracePinnedThreads=short")
+@Threads(400)
+@State(Scope.Benchmark)
+public class ThreadModeBenchmark {
+
+    // Open requests in the feed
+    private static final int FEED_REQUESTS = 1000;
+    private static final int SEED_CHUNK = 5000;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private List<Long> volunteerIds;
+    private User resident;
+
+    // Only set up for accept, so the feed is not sorting this many rows
+    @State(Scope.Benchmark)
+    public static class AcceptableRequests {
+
+        // More than an iteration can accept, so every accept takes a request nobody else has
+        private static final int COUNT = 100_000;
+
+        private long[] ids;
+        private final AtomicInteger next = new AtomicInteger();
+
+        @Setup
+        public void setUp(ThreadModeBenchmark benchmark) {
+            ids = benchmark.seedRequests(COUNT);
+        }
+
+        // Opens the accepted requests again between iterations
+        @Setup(Level.Iteration)
+        public void reopen(ThreadModeBenchmark benchmark) {
+            int accepted = Math.min(next.getAndSet(0), COUNT);
+            if (accepted > 0) {
+                JdbcTemplate jdbcTemplate = benchmark.context.getBean(JdbcTemplate.class);
+                jdbcTemplate.update("DELETE FROM assignments WHERE request_id BETWEEN ? AND ?",
+                                    ids[0], ids[accepted - 1]);
+                jdbcTemplate.update("UPDATE requests SET status = 'OPEN' WHERE id BETWEEN ? AND ? AND status <> 'OPEN'",
+                                    ids[0], ids[accepted - 1]);
+            }
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        boolean virtual = threads.equals("virtual");
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21; this JVM is " + Runtime.version());
+        }
+        // Platform mode keeps the application defaults: 200 Tomcat threads, 10 connections
+        Map<String, Object> mode = new HashMap<>();
+        if (virtual) {
+            mode.put("spring.threads.virtual.enabled", "true");
+            mode.put("spring.datasource.hikari.maximum-pool-size", "40");
+            mode.put("spring.datasource.hikari.minimum-idle", "10");
+            mode.put("spring.datasource.hikari.connection-timeout", "5000");
+        }
+        // H2's MySQL mode hands out duplicate identity values under concurrent inserts, which the accepts'
+        // assignments would run into; an explicit -Dspring.datasource.url still wins
+        if (System.getProperty("spring.datasource.url") == null) {
+            mode.put("spring.datasource.url", "jdbc:h2:mem:thread-mode;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        }
+        context = BenchmarkApplication.startServer("none", applicationContext ->
+            applicationContext.getEnvironment().getPropertySources().addFirst(new MapPropertySource("mode", mode)));
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        baseUrl = "http://localhost:" + BenchmarkApplication.port(context) + "/api/requests";
+        seed();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int openRequests() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "?limit=20")).GET().build());
+    }
+
+    @Benchmark
+    public int accept(AcceptableRequests requests) throws IOException, InterruptedException {
+        int next = requests.next.getAndIncrement();
+        if (next >= requests.ids.length) {
+            throw new IllegalStateException("Ran out of open requests within an iteration; raise AcceptableRequests.COUNT");
+        }
+        String body = "{\"volunteerId\":" + volunteerIds.get(next % volunteerIds.size()) + "}";
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + requests.ids[next] + "/accept"))
+                               .header("Content-Type", "application/json")
+                               .PUT(HttpRequest.BodyPublishers.ofString(body))
+                               .build());
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " answered "
+                                            + response.statusCode() + ": " + new String(response.body()));
+        }
+        return response.body().length;
+    }
+
+    // Members, and the open requests of the feed
+    private void seed() {
+        BenchmarkApplication.seedUsers(context, 200);
+        List<User> users = context.getBean(UserRepository.class).findAll();
+        volunteerIds = users.stream().filter(user -> user.getRole() == UserRole.VOLUNTEER).map(User::getId).toList();
+        resident = users.stream().filter(user -> user.getRole() == UserRole.RESIDENT).findFirst().orElseThrow();
+        seedRequests(FEED_REQUESTS);
+    }
+
+    // Open requests posted by a resident, so any volunteer may accept them
+    private long[] seedRequests(int count) {
+        RequestRepository requestRepository = context.getBean(RequestRepository.class);
+        RequestCategory[] categories = RequestCategory.values();
+        RequestUrgency[] urgencies = RequestUrgency.values();
+        LocalDateTime now = LocalDateTime.now();
+        long[] ids = new long[count];
+        for (int start = 0; start < count; start += SEED_CHUNK) {
+            List<Request> chunk = new ArrayList<>(SEED_CHUNK);
+            for (int i = start; i < Math.min(start + SEED_CHUNK, count); i++) {
+                Request request = new Request(resident, "Benchmark request " + i,
+                                              "Looking for a hand with task number " + i + ".",
+                                              categories[i % categories.length], urgencies[i % urgencies.length]);
+                request.setCreatedAt(now.minusSeconds(i));
+                chunk.add(request);
+            }
+            List<Request> saved = requestRepository.saveAll(chunk);
+            for (int i = 0; i < saved.size(); i++) {
+                ids[start + i] = saved.get(i).getId();
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,147 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// Build step run by Maven (exec-maven-plugin, process-resources) as a single-file program:
+//   java src/build/StaticAssetPipeline.java <source static dir> <output static dir>
+//
+// 1. Copies css/ and js/ files to assets/<dir>/<name>-<content hash>.<ext>
+// 2. Rewrites the references in the top-level HTML pages to those copies
+// 3. Writes .gz (and .br, when a brotli executable is on the PATH) next to every asset and page
+//
+// Pages are always rewritten from the source directory, so incremental builds never stack rewrites.
+public class StaticAssetPipeline {
+
+    private static final List<String> ASSET_DIRS = List.of("css", "js");
+    private static final String ASSETS_DIR = "assets";
+    private static final int HASH_LENGTH = 12;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            System.err.println("Usage: java StaticAssetPipeline.java <source static dir> <output static dir>");
+            System.exit(2);
+        }
+        Path source = Path.of(args[0]);
+        Path output = Path.of(args[1]);
+
+        Path assetsOutput = output.resolve(ASSETS_DIR);
+        deleteRecursively(assetsOutput);
+
+        // "css/style.css" -> "assets/css/style-1a2b3c4d5e6f.css"
+        Map<String, String> fingerprinted = new LinkedHashMap<>();
+        for (String dir : ASSET_DIRS) {
+            Path assetDir = source.resolve(dir);
+            if (!Files.isDirectory(assetDir)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(assetDir)) {
+                for (Path file : files.filter(Files::isRegularFile).sorted().toList()) {
+                    String relative = source.relativize(file).toString().replace('\\', '/');
+                    byte[] content = Files.readAllBytes(file);
+                    String target = ASSETS_DIR + "/" + withHash(relative, hash(content));
+
+                    Path targetFile = output.resolve(target);
+                    Files.createDirectories(targetFile.getParent());
+                    Files.write(targetFile, content);
+                    fingerprinted.put(relative, target);
+                }
+            }
+        }
+
+        List<Path> compressible = new ArrayList<>();
+        for (String target : fingerprinted.values()) {
+            compressible.add(output.resolve(target));
+        }
+
+        try (Stream<Path> pages = Files.list(source)) {
+            for (Path page : pages.filter(p -> p.getFileName().toString().endsWith(".html")).sorted().toList()) {
+                String html = Files.readString(page, StandardCharsets.UTF_8);
+                for (Map.Entry<String, String> entry : fingerprinted.entrySet()) {
+                    html = html.replace("\"" + entry.getKey() + "\"", "\"" + entry.getValue() + "\"")
+                               .replace("\"/" + entry.getKey() + "\"", "\"/" + entry.getValue() + "\"");
+                }
+                Path outputPage = output.resolve(page.getFileName());
+                Files.writeString(outputPage, html, StandardCharsets.UTF_8);
+                compressible.add(outputPage);
+            }
+        }
+
+        boolean brotli = brotliAvailable();
+        for (Path file : compressible) {
+            gzip(file);
+            if (brotli) {
+                brotli(file);
+            }
+        }
+
+        System.out.println("Fingerprinted " + fingerprinted.size() + " assets and precompressed " + compressible.size()
+                           + " files (gzip" + (brotli ? ", brotli" : "; brotli executable not found") + ")");
+    }
+
+    private static String hash(byte[] content) throws NoSuchAlgorithmException {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+        return HexFormat.of().formatHex(digest).substring(0, HASH_LENGTH);
+    }
+
+    private static String withHash(String path, String hash) {
+        int dot = path.lastIndexOf('.');
+        int slash = path.lastIndexOf('/');
+        if (dot <= slash) {
+            return path + "-" + hash;
+        }
+        return path.substring(0, dot) + "-" + hash + path.substring(dot);
+    }
+
+    private static void gzip(Path file) throws IOException {
+        Path gzFile = file.resolveSibling(file.getFileName() + ".gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzFile)) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            Files.copy(file, out);
+        }
+    }
+
+    private static void brotli(Path file) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder("brotli", "--force", "--best", "--output=" + file + ".br", file.toString())
+            .inheritIO()
+            .start();
+        if (process.waitFor() != 0) {
+            throw new IOException("brotli failed for " + file);
+        }
+    }
+
+    private static boolean brotliAvailable() {
+        try {
+            return new ProcessBuilder("brotli", "--version").redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start().waitFor() == 0;
+        } catch (IOException | InterruptedException e) {
+            return false;
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -2,8 +2,13 @@ package com.helpdesk;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// Sign-in goes through UserService and signed tokens, so Spring's default in-memory user (and the generated
+// password it logs at startup) is never wanted
+@SpringBootApplication(exclude = UserDetailsServiceAutoConfiguration.class)
+@EnableScheduling
 public class NeighborhoodHelpDeskApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,77 @@
+package com.helpdesk.config;
+
+import com.helpdesk.entity.RequestCategory;
+import com.helpdesk.event.RequestChangedEvent;
+import com.helpdesk.service.RatingUpdateService;
+import com.helpdesk.service.RecommendationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Application meters next to the ones Spring Boot binds itself (HTTP, repositories, Hikari, Hibernate, caches).
+// Accepts per minute: rate(helpdesk_request_events_total{type="accepted"}[5m]) * 60
+@Component
+public class BusinessMetrics implements MeterBinder {
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private RatingUpdateService ratingUpdateService;
+
+    private final Map<RequestChangedEvent.Type, Counter> requestEvents = new EnumMap<>(RequestChangedEvent.Type.class);
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // Read from the recommendation index, which holds every open request, so scrapes never query MySQL
+        for (RequestCategory category : RequestCategory.values()) {
+            Gauge.builder("helpdesk.requests.open", recommendationService,
+                          service -> service.openRequestCount(category))
+                 .description("Open requests")
+                 .tag("category", category.name().toLowerCase())
+                 .register(registry);
+        }
+
+        for (RequestChangedEvent.Type type : RequestChangedEvent.Type.values()) {
+            requestEvents.put(type, Counter.builder("helpdesk.request.events")
+                                           .description("Committed request changes")
+                                           .tag("type", type.name().toLowerCase())
+                                           .register(registry));
+        }
+
+        TimeGauge.builder("helpdesk.ratings.pending.age", ratingUpdateService, TimeUnit.MILLISECONDS,
+                          BusinessMetrics::oldestPendingRatingAge)
+                 .description("Age of the oldest review rating not yet applied to the volunteer")
+                 .register(registry);
+        TimeGauge.builder("helpdesk.ratings.flush.lag", ratingUpdateService, TimeUnit.MILLISECONDS,
+                          RatingUpdateService::getLastLagMillis)
+                 .description("Age of the oldest rating in the last applied batch")
+                 .register(registry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestChanged(RequestChangedEvent event) {
+        Counter counter = requestEvents.get(event.type());
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private static double oldestPendingRatingAge(RatingUpdateService service) {
+        try {
+            return service.getOldestPendingAgeMillis();
+        } catch (DataAccessException e) {
+            return Double.NaN;
+        }
+    }
+}
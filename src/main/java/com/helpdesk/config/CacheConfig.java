@@ -0,0 +1,48 @@
+package com.helpdesk.config;
+
+import com.helpdesk.service.ContentVersionService;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Cache names, size, TTL and statistics are configured through spring.cache.* in application.properties
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String OPEN_REQUESTS = "openRequests";
+    public static final String REQUEST_SEARCH = "requestSearch";
+    public static final String VOLUNTEER_REVIEWS = "volunteerReviews";
+
+    public static final String VERSIONED_KEY = "versionedKeyGenerator";
+
+    // Evictions and puts made inside a transaction reach the cache only once it commits. Evicting earlier
+    // would let a concurrent reader put the rows from before the commit straight back.
+    @Bean
+    public static BeanPostProcessor transactionAwareCacheManager() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof CacheManager cacheManager && !(bean instanceof TransactionAwareCacheManagerProxy)) {
+                    return new TransactionAwareCacheManagerProxy(cacheManager);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // The method arguments plus the content versions read by the current request. Another node's writes
+    // never evict this node's entries, but they move the versions, so later requests look up new keys;
+    // entries for old versions simply age out.
+    @Bean(VERSIONED_KEY)
+    public KeyGenerator versionedKeyGenerator(ContentVersionService contentVersions) {
+        return (target, method, params) -> new SimpleKey(contentVersions.snapshot(),
+                                                         SimpleKeyGenerator.generateKey(params));
+    }
+}
@@ -0,0 +1,34 @@
+package com.helpdesk.config;
+
+import com.helpdesk.service.ContentVersionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ContentVersionInitializer implements CommandLineRunner {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) throws Exception {
+        // Versions start at the current time rather than 0, so tags cached by clients before the database
+        // was recreated cannot match the new ones. Another node starting at the same time may win the insert.
+        for (ContentVersionService.Content content : ContentVersionService.Content.values()) {
+            try {
+                jdbcTemplate.update(
+                    "INSERT INTO content_versions (content, version) SELECT ?, ? FROM DUAL " +
+                    "WHERE NOT EXISTS (SELECT 1 FROM content_versions WHERE content = ?)",
+                    content.name(), System.currentTimeMillis(), content.name());
+            } catch (DataAccessException e) {
+                System.err.println("⚠️ Warning: Could not create the " + content + " content version: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.helpdesk.config;
+
+import com.helpdesk.service.ContentVersionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ContentVersionWorker {
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    // The flush interval bounds how long a 304 can still be answered for content that has already changed
+    @Scheduled(fixedDelayString = "${helpdesk.etags.flush-interval-ms:100}")
+    public void bumpChangedVersions() {
+        try {
+            contentVersionService.flushPending();
+        } catch (DataAccessException e) {
+            System.err.println("⚠️ Warning: Bumping content versions failed: " + e.getMessage());
+        }
+    }
+}
@@ -7,6 +7,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 @Component
 public class DataInitializer implements CommandLineRunner {
@@ -20,7 +23,9 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    // Read-write, so the emptiness check asks the primary rather than a read replica that may lag behind
     @Override
+    @Transactional
     public void run(String... args) throws Exception {
         // Create default users if none exist
         if (userRepository.count() == 0) {
@@ -116,11 +121,7 @@ public class DataInitializer implements CommandLineRunner {
             request5.setUrgency(RequestUrgency.LOW);
             request5.setStatus(RequestStatus.ACCEPTED);
 
-            requestRepository.save(request1);
-            requestRepository.save(request2);
-            requestRepository.save(request3);
-            requestRepository.save(request4);
-            requestRepository.save(request5);
+            requestRepository.saveAll(List.of(request1, request2, request3, request4, request5));
 
             System.out.println("Created 6 diverse community members and 5 sample requests for testing");
         }
@@ -0,0 +1,33 @@
+package com.helpdesk.config;
+
+import com.helpdesk.entity.Request;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class IdSequenceInitializer implements CommandLineRunner {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) throws Exception {
+        // Requests used AUTO_INCREMENT ids before the table generator, so move the generator
+        // past every existing id (plus one block, whichever way the pooled optimizer counts)
+        try {
+            jdbcTemplate.update(
+                "INSERT INTO id_sequences (sequence_name, next_val) " +
+                "SELECT 'requests', COALESCE(MAX(id), 0) + ? FROM requests " +
+                "ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val))",
+                Request.ID_ALLOCATION_SIZE);
+        } catch (DataAccessException e) {
+            System.err.println("⚠️ Warning: Could not align request id generator: " + e.getMessage());
+        }
+    }
+}
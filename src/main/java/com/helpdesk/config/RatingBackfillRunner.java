@@ -0,0 +1,22 @@
+package com.helpdesk.config;
+
+import com.helpdesk.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "helpdesk.ratings.backfill", havingValue = "true")
+public class RatingBackfillRunner implements CommandLineRunner {
+
+    @Autowired
+    private UserService userService;
+
+    @Override
+    public void run(String... args) throws Exception {
+        // Run once after upgrading with --helpdesk.ratings.backfill=true
+        int users = userService.backfillRatingAggregates();
+        System.out.println("Backfilled rating totals for " + users + " users");
+    }
+}
@@ -0,0 +1,47 @@
+package com.helpdesk.config;
+
+import com.helpdesk.service.RatingUpdateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RatingUpdateWorker {
+
+    @Autowired
+    private RatingUpdateService ratingUpdateService;
+
+    @Value("${helpdesk.ratings.sweep-interval-ms:30000}")
+    private long sweepIntervalMillis;
+
+    private long lastSweepAtMillis;
+
+    // The flush interval bounds how stale a rating gets. Between reviews nothing is queried, except a periodic
+    // sweep for entries recorded by another node or left behind by a failed flush.
+    @Scheduled(fixedDelayString = "${helpdesk.ratings.flush-interval-ms:1000}")
+    public void applyPendingRatings() {
+        long now = System.currentTimeMillis();
+        boolean sweep = now - lastSweepAtMillis >= sweepIntervalMillis;
+        if (!ratingUpdateService.takePending() && !sweep) {
+            return;
+        }
+        lastSweepAtMillis = now;
+
+        try {
+            int applied;
+            do {
+                applied = ratingUpdateService.flushBatch();
+            } while (applied > 0);
+
+            long oldestPendingAge = ratingUpdateService.getOldestPendingAgeMillis();
+            if (oldestPendingAge > ratingUpdateService.getMaxStalenessMillis()) {
+                // Entries locked by a slow flush on another node, or failing to apply
+                System.err.println("⚠️ Warning: Oldest pending rating update is " + oldestPendingAge + " ms old");
+            }
+        } catch (DataAccessException e) {
+            System.err.println("⚠️ Warning: Applying rating updates failed: " + e.getMessage());
+        }
+    }
+}
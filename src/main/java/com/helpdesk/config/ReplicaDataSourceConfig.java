@@ -0,0 +1,60 @@
+package com.helpdesk.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Only active when helpdesk.datasource.replica.url is set; otherwise Spring Boot's single data source is used
+@Configuration
+@ConditionalOnProperty(name = "helpdesk.datasource.replica.url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("helpdesk.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${helpdesk.datasource.replica.url}") String url,
+                                              @Value("${helpdesk.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${helpdesk.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .driverClassName(properties.determineDriverClassName())
+            .url(url)
+            .username(username)
+            .password(password)
+            .build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 @Value("${helpdesk.datasource.replica.read-your-writes-seconds:5}") long readYourWritesSeconds,
+                                 @Value("${helpdesk.datasource.replica.retry-seconds:30}") long retrySeconds) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica,
+            Duration.ofSeconds(readYourWritesSeconds), Duration.ofSeconds(retrySeconds));
+        routing.afterPropertiesSet();
+        System.out.println("📚 Read-only transactions are routed to the read replica");
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
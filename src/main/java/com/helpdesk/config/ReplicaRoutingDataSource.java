@@ -0,0 +1,142 @@
+package com.helpdesk.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.helpdesk.dto.AuthenticatedUser;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+// Sends read-only transactions to the replica and everything else to the primary. A client that has just
+// committed a write keeps reading from the primary for a while so it sees its own changes despite replica lag,
+// and a replica that refuses connections is skipped until the retry delay has passed. Entities read from the
+// replica are not put into Hibernate's second-level cache.
+// Must sit behind a LazyConnectionDataSourceProxy: the read-only flag is only known once the transaction has begun.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private static final int MAX_TRACKED_WRITERS = 100_000;
+
+    private final Cache<String, Boolean> recentWriters;
+    private final long replicaRetryMillis;
+    private volatile long replicaDownUntil;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow,
+                                    Duration replicaRetryDelay) {
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        this.recentWriters = Caffeine.newBuilder()
+            .expireAfterWrite(readYourWritesWindow)
+            .maximumSize(MAX_TRACKED_WRITERS)
+            .build();
+        this.replicaRetryMillis = replicaRetryDelay.toMillis();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String client = currentClient();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (client != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recentWriters.put(client, Boolean.TRUE);
+                    }
+                });
+            }
+            return Route.PRIMARY;
+        }
+
+        if (System.currentTimeMillis() < replicaDownUntil) {
+            return Route.PRIMARY;
+        }
+        if (client != null && recentWriters.getIfPresent(client) != null) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        try {
+            Connection connection = target.getConnection();
+            if (target != getResolvedDefaultDataSource()) {
+                skipCachePuts();
+            }
+            return connection;
+        } catch (SQLException ex) {
+            if (target == getResolvedDefaultDataSource()) {
+                throw ex;
+            }
+            markReplicaDown(ex);
+            return getResolvedDefaultDataSource().getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        DataSource target = determineTargetDataSource();
+        try {
+            Connection connection = target.getConnection(username, password);
+            if (target != getResolvedDefaultDataSource()) {
+                skipCachePuts();
+            }
+            return connection;
+        } catch (SQLException ex) {
+            if (target == getResolvedDefaultDataSource()) {
+                throw ex;
+            }
+            markReplicaDown(ex);
+            return getResolvedDefaultDataSource().getConnection(username, password);
+        }
+    }
+
+    // After a write evicted an entity, a lagging replica would otherwise put the old state back, and it would
+    // stay until the next eviction. Cached entries are still read. Hibernate 6.3 ignores this for the query
+    // cache (a missed result is put even in GET mode), so cached queries are read from the primary instead;
+    // see UserService.getMemberStats.
+    private static void skipCachePuts() {
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder holder) {
+                holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+            }
+        }
+    }
+
+    private void markReplicaDown(SQLException ex) {
+        replicaDownUntil = System.currentTimeMillis() + replicaRetryMillis;
+        System.err.println("⚠️ Warning: read replica unavailable, reading from the primary for the next "
+                           + replicaRetryMillis / 1000 + "s: " + ex.getMessage());
+    }
+
+    // Token holders are tracked by user id; anonymous callers (e.g. login right after registering) by address
+    private static String currentClient() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return "user:" + user.id();
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return "addr:" + servletAttributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.helpdesk.config;
+
+import com.helpdesk.service.NearbyRequestService;
+import com.helpdesk.service.RecommendationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RequestIndexInitializer {
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private NearbyRequestService nearbyRequestService;
+
+    // After the CommandLineRunners, so requests seeded by DataInitializer are included; from here on the
+    // indexes follow this node's RequestService writes through RequestChangedEvent
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndexes() {
+        int indexed = recommendationService.rebuildIndex();
+        System.out.println("Indexed " + indexed + " open requests for volunteer recommendations");
+
+        int located = nearbyRequestService.rebuildIndex();
+        System.out.println("Indexed " + located + " open requests with a location for nearby searches");
+    }
+
+    // Events only cover this node's writes. With several nodes, the indexes pick up the others' changes from the
+    // database here, so they lag by at most this interval; a single node never needs it.
+    @Scheduled(initialDelayString = "${helpdesk.indexes.refresh-interval-ms:300000}",
+               fixedDelayString = "${helpdesk.indexes.refresh-interval-ms:300000}")
+    public void refreshIndexes() {
+        try {
+            recommendationService.rebuildIndex();
+            nearbyRequestService.rebuildIndex();
+        } catch (DataAccessException e) {
+            System.err.println("⚠️ Warning: Refreshing the request indexes failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.helpdesk.config;
+
+import com.helpdesk.service.RequestJournal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Opt-in with helpdesk.journal.enabled=true and an explicit helpdesk.journal.dir; without a journal nothing is
+// recorded and the history endpoints return 404. Each node journals only the changes it commits itself.
+@Configuration
+@ConditionalOnProperty(name = "helpdesk.journal.enabled", havingValue = "true")
+public class RequestJournalConfig {
+
+    @Bean(destroyMethod = "close")
+    public RequestJournal requestJournal(@Value("${helpdesk.journal.dir:}") String directory,
+                                         @Value("${helpdesk.journal.segment-size-mb:64}") int segmentSizeMb)
+            throws IOException {
+        // Segments are never deleted, so they must go somewhere chosen for them, not the working directory
+        if (directory.isBlank()) {
+            throw new IllegalStateException("helpdesk.journal.enabled=true requires helpdesk.journal.dir");
+        }
+        RequestJournal journal = new RequestJournal(Path.of(directory), segmentSizeMb * 1024 * 1024);
+        System.out.println("📒 Request journal at " + Path.of(directory).toAbsolutePath() + ", "
+                           + journal.lastSequence() + " records in " + journal.segmentCount() + " segments");
+        return journal;
+    }
+}
@@ -0,0 +1,26 @@
+package com.helpdesk.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import java.time.Duration;
+
+// Fingerprinted copies written at build time by src/build/StaticAssetPipeline.java. A changed file gets a new
+// name, so browsers may keep these forever without revalidating. Pages and unversioned files stay on Spring Boot's
+// default handler (spring.web.resources.* in application.properties).
+@Configuration
+public class StaticResourceConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/assets/**")
+            .addResourceLocations("classpath:/static/assets/")
+            .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+            .resourceChain(true)
+            // Serves the prebuilt .br/.gz variant the client accepts instead of compressing per request
+            .addResolver(new EncodedResourceResolver());
+    }
+}
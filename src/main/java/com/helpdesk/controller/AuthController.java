@@ -2,6 +2,7 @@ package com.helpdesk.controller;
 
 import com.helpdesk.entity.User;
 import com.helpdesk.entity.UserRole;
+import com.helpdesk.service.TokenService;
 import com.helpdesk.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +19,9 @@ public class AuthController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private TokenService tokenService;
+
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody Map<String, String> request) {
         try {
@@ -39,17 +43,24 @@ public class AuthController {
                 }
             }
 
-            User user = userService.registerUser(name, email, password, role);
+            double[] location = Coordinates.parse(request.get("latitude"), request.get("longitude"));
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "User registered successfully");
-            response.put("user", Map.of(
+            User user = userService.registerUser(name, email, password, role,
+                                                 location == null ? null : location[0],
+                                                 location == null ? null : location[1]);
+
+            Map<String, Object> userInfo = new HashMap<>(Map.of(
                 "id", user.getId(),
                 "name", user.getName(),
                 "email", user.getEmail(),
                 "role", user.getRole().toString()
             ));
+            putLocation(userInfo, user);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "User registered successfully");
+            response.put("user", userInfo);
 
             return ResponseEntity.ok(response);
 
@@ -83,13 +94,18 @@ public class AuthController {
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Login successful");
-            response.put("user", Map.of(
+            // Sent back as "Authorization: Bearer <token>" on write calls
+            response.put("token", tokenService.issueToken(user));
+            Map<String, Object> userInfo = new HashMap<>(Map.of(
                 "id", user.getId(),
                 "name", user.getName(),
                 "email", user.getEmail(),
                 "role", user.getRole().toString(),
                 "rating", user.getRating()
             ));
+            // Lets the client default nearby searches to the member's home location
+            putLocation(userInfo, user);
+            response.put("user", userInfo);
 
             return ResponseEntity.ok(response);
 
@@ -97,4 +113,11 @@ public class AuthController {
             return ResponseEntity.internalServerError().body(Map.of("error", "Login failed"));
         }
     }
+
+    private static void putLocation(Map<String, Object> userInfo, User user) {
+        if (user.getLatitude() != null && user.getLongitude() != null) {
+            userInfo.put("latitude", user.getLatitude());
+            userInfo.put("longitude", user.getLongitude());
+        }
+    }
 }
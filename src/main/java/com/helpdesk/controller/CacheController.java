@@ -0,0 +1,89 @@
+package com.helpdesk.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @GetMapping("/stats")
+    public ResponseEntity<?> getCacheStats() {
+        try {
+            Map<String, Object> caches = new HashMap<>();
+
+            for (String name : cacheManager.getCacheNames()) {
+                Cache cache = cacheManager.getCache(name);
+                if (cache instanceof TransactionAwareCacheDecorator decorator) {
+                    cache = decorator.getTargetCache();
+                }
+                if (!(cache instanceof CaffeineCache caffeineCache)) {
+                    continue;
+                }
+
+                CacheStats stats = caffeineCache.getNativeCache().stats();
+                Map<String, Object> cacheInfo = new HashMap<>();
+                cacheInfo.put("size", caffeineCache.getNativeCache().estimatedSize());
+                cacheInfo.put("hits", stats.hitCount());
+                cacheInfo.put("misses", stats.missCount());
+                cacheInfo.put("hitRate", stats.hitRate());
+                cacheInfo.put("evictions", stats.evictionCount());
+                caches.put(name, cacheInfo);
+            }
+
+            // Hibernate's second-level regions (entities, natural ids, query results)
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            Map<String, Object> regions = new HashMap<>();
+            for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+                CacheRegionStatistics regionStats = statistics.getCacheRegionStatistics(regionName);
+                if (regionStats == null) {
+                    continue;
+                }
+
+                Map<String, Object> regionInfo = new HashMap<>();
+                regionInfo.put("hits", regionStats.getHitCount());
+                regionInfo.put("misses", regionStats.getMissCount());
+                regionInfo.put("puts", regionStats.getPutCount());
+                regions.put(regionName, regionInfo);
+            }
+
+            Map<String, Object> queryCache = new HashMap<>();
+            queryCache.put("hits", statistics.getQueryCacheHitCount());
+            queryCache.put("misses", statistics.getQueryCacheMissCount());
+            queryCache.put("puts", statistics.getQueryCachePutCount());
+
+            Map<String, Object> secondLevel = new HashMap<>();
+            secondLevel.put("regions", regions);
+            secondLevel.put("queryCache", queryCache);
+            secondLevel.put("naturalIdHits", statistics.getNaturalIdCacheHitCount());
+            secondLevel.put("naturalIdMisses", statistics.getNaturalIdCacheMissCount());
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("caches", caches);
+            response.put("secondLevel", secondLevel);
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to fetch cache statistics"));
+        }
+    }
+}
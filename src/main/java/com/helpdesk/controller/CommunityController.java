@@ -1,17 +1,25 @@
 package com.helpdesk.controller;
 
+import com.helpdesk.dto.MemberResponse;
+import com.helpdesk.dto.MemberStats;
+import com.helpdesk.dto.RequestResponse;
+import com.helpdesk.dto.ReviewResponse;
+import com.helpdesk.dto.StreamedArray;
 import com.helpdesk.entity.User;
+import com.helpdesk.service.ContentVersionService;
 import com.helpdesk.service.UserService;
 import com.helpdesk.service.RequestService;
 import com.helpdesk.service.ReviewService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/community")
@@ -26,57 +34,64 @@ public class CommunityController {
     @Autowired
     private ReviewService reviewService;
 
+    @Autowired
+    private ContentVersionService contentVersions;
+
+    // One transaction for the ETag and the body, so both come from the same database (see RequestController).
+    // Read-write, so from the primary: the member list fills the query cache (see UserService.getMemberStats).
     @GetMapping("/members")
-    public ResponseEntity<?> getCommunityMembers() {
+    @Transactional
+    public ResponseEntity<?> getCommunityMembers(WebRequest webRequest) {
         try {
-            List<User> users = userService.findAllUsers();
-
-            List<Map<String, Object>> membersList = users.stream().map(user -> {
-                Map<String, Object> memberInfo = new HashMap<>();
-                memberInfo.put("id", user.getId());
-                memberInfo.put("name", user.getName());
-                memberInfo.put("email", user.getEmail());
-                memberInfo.put("role", user.getRole().toString());
-                memberInfo.put("rating", user.getRating());
-                memberInfo.put("joinedAt", user.getCreatedAt().toString());
-                
-                // Get user's request count
-                int requestCount = requestService.getRequestsByUser(user.getId()).size();
-                memberInfo.put("totalRequests", requestCount);
-                
-                // Get user's reviews count (as volunteer)
-                int reviewCount = reviewService.getReviewsForVolunteer(user.getId()).size();
-                memberInfo.put("totalReviews", reviewCount);
-                
-                // Calculate activity level
-                String activityLevel = calculateActivityLevel(requestCount, reviewCount, user.getRating());
-                memberInfo.put("activityLevel", activityLevel);
-                
-                // Get recent activity summary
-                String recentActivity = getRecentActivitySummary(user, requestCount, reviewCount);
-                memberInfo.put("recentActivity", recentActivity);
-                
-                return memberInfo;
-            }).collect(Collectors.toList());
-
-            // Sort by rating (highest first)
-            membersList.sort((a, b) -> Double.compare((Double) b.get("rating"), (Double) a.get("rating")));
+            if (webRequest.checkNotModified(memberEtag())) {
+                return null;
+            }
+
+            // Members arrive sorted by rating (highest first) with their counts already aggregated
+            List<MemberStats> members = userService.getMemberStats();
+
+            StreamedArray<MemberStats> membersList = StreamedArray.of(members, member -> {
+                int requestCount = member.requestCount().intValue();
+                int reviewCount = member.reviewCount().intValue();
+
+                return new MemberResponse(
+                    member.id(),
+                    member.name(),
+                    member.email(),
+                    member.role().toString(),
+                    member.rating(),
+                    member.createdAt().toString(),
+                    requestCount,
+                    reviewCount,
+                    calculateActivityLevel(requestCount, reviewCount, member.rating()),
+                    getRecentActivitySummary(requestCount, reviewCount),
+                    null,
+                    null
+                );
+            });
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("members", membersList);
-            response.put("totalMembers", membersList.size());
+            response.put("totalMembers", members.size());
 
-            return ResponseEntity.ok(response);
+            // checkNotModified has already set the ETag header; private, as member data includes email addresses
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(response);
 
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(Map.of("error", "Failed to fetch community members"));
         }
     }
 
+    // Read-only, so the ETag and the body may come from the replica
     @GetMapping("/members/{id}")
-    public ResponseEntity<?> getMemberDetails(@PathVariable Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getMemberDetails(@PathVariable Long id, WebRequest webRequest) {
         try {
+            if (webRequest.checkNotModified(memberEtag())) {
+                return null;
+            }
+
             var userOpt = userService.findById(id);
             if (userOpt.isEmpty()) {
                 return ResponseEntity.badRequest().body(Map.of("error", "Member not found"));
@@ -86,49 +101,44 @@ public class CommunityController {
             var requests = requestService.getRequestsByUser(id);
             var reviews = reviewService.getReviewsForVolunteer(id);
 
-            Map<String, Object> memberDetails = new HashMap<>();
-            memberDetails.put("id", user.getId());
-            memberDetails.put("name", user.getName());
-            memberDetails.put("email", user.getEmail());
-            memberDetails.put("role", user.getRole().toString());
-            memberDetails.put("rating", user.getRating());
-            memberDetails.put("joinedAt", user.getCreatedAt().toString());
-            memberDetails.put("totalRequests", requests.size());
-            memberDetails.put("totalReviews", reviews.size());
-            
-            // Recent requests
             var recentRequests = requests.stream()
                 .limit(5)
-                .map(request -> Map.of(
-                    "id", request.getId(),
-                    "title", request.getTitle(),
-                    "category", request.getCategory().toString(),
-                    "status", request.getStatus().toString(),
-                    "createdAt", request.getCreatedAt().toString()
-                ))
-                .collect(Collectors.toList());
-            memberDetails.put("recentRequests", recentRequests);
-            
-            // Recent reviews
+                .map(RequestResponse::summaryOf)
+                .toList();
+
             var recentReviews = reviews.stream()
                 .limit(5)
-                .map(review -> Map.of(
-                    "id", review.getId(),
-                    "rating", review.getRating(),
-                    "comment", review.getComment() != null ? review.getComment() : "",
-                    "requestTitle", review.getRequest().getTitle(),
-                    "createdAt", review.getCreatedAt().toString()
-                ))
-                .collect(Collectors.toList());
-            memberDetails.put("recentReviews", recentReviews);
-
-            return ResponseEntity.ok(memberDetails);
+                .map(ReviewResponse::withRequestTitle)
+                .toList();
+
+            MemberResponse memberDetails = new MemberResponse(
+                user.getId(),
+                user.getName(),
+                user.getEmail(),
+                user.getRole().toString(),
+                user.getRating(),
+                user.getCreatedAt().toString(),
+                requests.size(),
+                reviews.size(),
+                null,
+                null,
+                recentRequests,
+                recentReviews
+            );
+
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(memberDetails);
 
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(Map.of("error", "Failed to fetch member details"));
         }
     }
 
+    // Member data combines the profile and rating with request and review counts
+    private String memberEtag() {
+        return contentVersions.etag(ContentVersionService.Content.USERS, ContentVersionService.Content.REQUESTS,
+                                    ContentVersionService.Content.REVIEWS);
+    }
+
     private String calculateActivityLevel(int requestCount, int reviewCount, double rating) {
         int totalActivity = requestCount + reviewCount;
         
@@ -143,7 +153,7 @@ public class CommunityController {
         }
     }
 
-    private String getRecentActivitySummary(User user, int requestCount, int reviewCount) {
+    private String getRecentActivitySummary(int requestCount, int reviewCount) {
         if (requestCount > 0 && reviewCount > 0) {
             return "Posts requests and helps others";
         } else if (requestCount > 0) {
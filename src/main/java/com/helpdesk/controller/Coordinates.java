@@ -0,0 +1,40 @@
+package com.helpdesk.controller;
+
+// Parsing of the optional latitude/longitude pairs accepted by the request and auth endpoints
+final class Coordinates {
+
+    private Coordinates() {
+    }
+
+    // null when neither is given; IllegalArgumentException with a client-facing message when the pair is invalid
+    static double[] parse(Object latitude, Object longitude) {
+        if (latitude == null && longitude == null) {
+            return null;
+        }
+        if (latitude == null || longitude == null) {
+            throw new IllegalArgumentException("Latitude and longitude must be given together");
+        }
+
+        double lat = toDouble(latitude);
+        double lon = toDouble(longitude);
+        // Written so that NaN fails as well
+        if (!(lat >= -90 && lat <= 90)) {
+            throw new IllegalArgumentException("Latitude must be between -90 and 90");
+        }
+        if (!(lon >= -180 && lon <= 180)) {
+            throw new IllegalArgumentException("Longitude must be between -180 and 180");
+        }
+        return new double[] {lat, lon};
+    }
+
+    private static double toDouble(Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        try {
+            return Double.parseDouble(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Latitude and longitude must be numbers");
+        }
+    }
+}
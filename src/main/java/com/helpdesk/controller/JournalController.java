@@ -0,0 +1,51 @@
+package com.helpdesk.controller;
+
+import com.helpdesk.dto.AuthenticatedUser;
+import com.helpdesk.dto.RequestHistoryEntry;
+import com.helpdesk.service.RequestJournalService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/journal")
+public class JournalController {
+
+    @Autowired
+    private RequestJournalService requestJournalService;
+
+    @GetMapping("/requests/{requestId}")
+    public ResponseEntity<?> getRequestHistory(@PathVariable Long requestId,
+                                               @AuthenticationPrincipal AuthenticatedUser principal) {
+        if (!requestJournalService.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "The request journal is disabled"));
+        }
+        // The audit trail names who did what, so it is only shown to signed-in members
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Sign in to view request history"));
+        }
+        try {
+            List<RequestHistoryEntry> history = requestJournalService.getHistory(requestId).stream()
+                .map(RequestHistoryEntry::from)
+                .toList();
+
+            return ResponseEntity.ok(Map.of("requestId", requestId, "history", history));
+
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to read request history"));
+        }
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<?> getJournalStats() {
+        if (!requestJournalService.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "The request journal is disabled"));
+        }
+        return ResponseEntity.ok(requestJournalService.getStats());
+    }
+}
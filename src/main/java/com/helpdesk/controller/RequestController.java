@@ -1,16 +1,39 @@
 package com.helpdesk.controller;
 
+import com.helpdesk.dto.AssignmentResponse;
+import com.helpdesk.dto.AuthenticatedUser;
+import com.helpdesk.dto.RequestFeedItem;
+import com.helpdesk.dto.RequestResponse;
+import com.helpdesk.dto.StreamedArray;
 import com.helpdesk.entity.*;
+import com.helpdesk.service.ContentVersionService;
+import com.helpdesk.service.GeoGridIndex;
+import com.helpdesk.service.RequestConflictException;
 import com.helpdesk.service.RequestService;
+import com.helpdesk.service.RequestStreamService;
 import com.helpdesk.service.UserService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -23,13 +46,45 @@ public class RequestController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private RequestStreamService requestStreamService;
+
+    @Autowired
+    private ContentVersionService contentVersions;
+
+    @Autowired
+    private Validator validator;
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_DESCRIPTION_LENGTH = 1000;
+    private static final int TEXT_COLUMN_LENGTH = 65535;
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final double DEFAULT_RADIUS_KM = 2.0;
+    private static final double MAX_RADIUS_KM = 50.0;
+
+    // The version behind the ETag is read in the same read-only transaction as the body, so both come from the
+    // same database (primary or replica) and the tag is never newer than the data it labels
     @GetMapping
+    @Transactional(readOnly = true)
     public ResponseEntity<?> getAllRequests(
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String urgency,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer descriptionLength,
+            @RequestParam(required = false) String near,
+            @RequestParam(required = false) Double radiusKm,
+            WebRequest webRequest) {
         try {
-            List<Request> requests;
+            // Feed items carry the poster's rating, so user changes count as well. Nearby pages come from this
+            // node's index, which only follows this node's writes, so they are never tagged.
+            boolean nearby = near != null && !near.isEmpty();
+            if (!nearby && webRequest.checkNotModified(contentVersions.etag(ContentVersionService.Content.REQUESTS,
+                                                                            ContentVersionService.Content.USERS))) {
+                return null;
+            }
 
             RequestCategory requestCategory = null;
             RequestUrgency requestUrgency = null;
@@ -50,42 +105,177 @@ public class RequestController {
                 }
             }
 
-            if (search != null && !search.trim().isEmpty()) {
-                requests = requestService.searchRequests(requestCategory, requestUrgency, search.trim());
-            } else if (requestCategory != null || requestUrgency != null) {
-                requests = requestService.searchRequests(requestCategory, requestUrgency);
+            int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+            if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Limit must be between 1 and " + MAX_PAGE_SIZE));
+            }
+
+            if (descriptionLength != null && (descriptionLength < 1 || descriptionLength > MAX_DESCRIPTION_LENGTH)) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Description length must be between 1 and " + MAX_DESCRIPTION_LENGTH));
+            }
+
+            String searchTerm = search != null && !search.trim().isEmpty() ? search.trim() : null;
+
+            // near=lat,lon keeps the feed's newest-first order and cursor, restricted to radiusKm around the point
+            double[] center = null;
+            double radius = radiusKm == null ? DEFAULT_RADIUS_KM : radiusKm;
+            if (nearby) {
+                String[] parts = near.split(",", -1);
+                if (parts.length != 2) {
+                    return ResponseEntity.badRequest().body(Map.of("error", "near must be latitude,longitude"));
+                }
+                try {
+                    center = Coordinates.parse(parts[0], parts[1]);
+                } catch (IllegalArgumentException e) {
+                    return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+                }
+                if (!(radius > 0 && radius <= MAX_RADIUS_KM)) {
+                    return ResponseEntity.badRequest().body(Map.of("error", "radiusKm must be greater than 0 and at most " + MAX_RADIUS_KM));
+                }
+                if (searchTerm != null) {
+                    return ResponseEntity.badRequest().body(Map.of("error", "near cannot be combined with search"));
+                }
+            }
+
+            // Feed pages seek past (createdAt, id); relevance-ranked search pages continue from an offset
+            LocalDateTime beforeCreatedAt = null;
+            Long beforeId = null;
+            int offset = 0;
+            if (cursor != null && !cursor.isEmpty()) {
+                try {
+                    String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                    if (searchTerm != null) {
+                        offset = Integer.parseInt(decoded);
+                        if (offset < 0) {
+                            throw new IllegalArgumentException("Negative offset");
+                        }
+                    } else {
+                        int separator = decoded.lastIndexOf('|');
+                        beforeCreatedAt = LocalDateTime.parse(decoded.substring(0, separator));
+                        beforeId = Long.valueOf(decoded.substring(separator + 1));
+                    }
+                } catch (RuntimeException e) {
+                    return ResponseEntity.badRequest().body(Map.of("error", "Invalid cursor"));
+                }
+            }
+
+            // Fetch one extra row (and one extra character when truncating) to detect what was cut off
+            int fetchedLength = descriptionLength == null ? TEXT_COLUMN_LENGTH : descriptionLength + 1;
+            List<RequestFeedItem> requests;
+            if (searchTerm != null) {
+                requests = requestService.searchOpenRequestsPage(requestCategory, requestUrgency, searchTerm, offset,
+                                                                 pageSize + 1, fetchedLength);
+            } else if (center != null) {
+                requests = requestService.getNearbyRequestsPage(center[0], center[1], radius, requestCategory,
+                                                                requestUrgency, beforeCreatedAt, beforeId,
+                                                                pageSize + 1, fetchedLength);
             } else {
-                requests = requestService.getAllOpenRequests();
-            }
-
-            List<Map<String, Object>> requestList = requests.stream().map(request -> {
-                Map<String, Object> requestMap = new HashMap<>();
-                requestMap.put("id", request.getId());
-                requestMap.put("title", request.getTitle());
-                requestMap.put("description", request.getDescription());
-                requestMap.put("category", request.getCategory().toString());
-                requestMap.put("urgency", request.getUrgency().toString());
-                requestMap.put("status", request.getStatus().toString());
-                requestMap.put("createdAt", request.getCreatedAt().toString());
-                requestMap.put("user", Map.of(
-                    "id", request.getUser().getId(),
-                    "name", request.getUser().getName(),
-                    "rating", request.getUser().getRating()
-                ));
-                return requestMap;
-            }).collect(Collectors.toList());
-
-            return ResponseEntity.ok(Map.of("requests", requestList));
+                requests = requestService.getOpenRequestsPage(requestCategory, requestUrgency, beforeCreatedAt,
+                                                              beforeId, pageSize + 1, fetchedLength);
+            }
+
+            boolean hasMore = requests.size() > pageSize;
+            if (hasMore) {
+                requests = requests.subList(0, pageSize);
+            }
+
+            double[] origin = center;
+            StreamedArray<RequestFeedItem> requestList = StreamedArray.of(requests, request -> {
+                Double distanceKm = origin == null ? null
+                    : Math.round(GeoGridIndex.distanceKm(origin[0], origin[1], request.latitude(),
+                                                         request.longitude()) * 100) / 100.0;
+                if (descriptionLength == null) {
+                    return RequestResponse.from(request, request.description(), null, distanceKm);
+                }
+                String description = request.description();
+                boolean truncated = description.length() > descriptionLength;
+                if (truncated) {
+                    description = description.substring(0, descriptionLength);
+                }
+                return RequestResponse.from(request, description, truncated, distanceKm);
+            });
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("requests", requestList);
+            if (hasMore) {
+                RequestFeedItem last = requests.get(requests.size() - 1);
+                String position = searchTerm != null
+                    ? String.valueOf(offset + pageSize)
+                    : last.createdAt().toString() + "|" + last.id();
+                response.put("nextCursor", Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(position.getBytes(StandardCharsets.UTF_8)));
+            }
+
+            // checkNotModified has already set the ETag header
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(response);
+
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to fetch requests"));
+        }
+    }
+
+    // Every request the user posted, in any status and including archived ones, newest first. The version behind
+    // the ETag is read in the same read-only transaction as the body.
+    @GetMapping("/users/{userId}")
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getRequestsByUser(@PathVariable Long userId, WebRequest webRequest) {
+        try {
+            if (webRequest.checkNotModified(contentVersions.etag(ContentVersionService.Content.REQUESTS))) {
+                return null;
+            }
+
+            List<RequestResponse> requests = requestService.getRequestsByUser(userId).stream()
+                .map(RequestResponse::created)
+                .toList();
+
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(Map.of("requests", requests));
 
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(Map.of("error", "Failed to fetch requests"));
         }
     }
 
+    @GetMapping("/stream")
+    // EventSource cannot read error bodies, so failures are reported by status code only
+    public ResponseEntity<SseEmitter> streamRequests(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String urgency,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        RequestCategory requestCategory = null;
+        RequestUrgency requestUrgency = null;
+
+        if (category != null && !category.isEmpty()) {
+            try {
+                requestCategory = RequestCategory.valueOf(category.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        if (urgency != null && !urgency.isEmpty()) {
+            try {
+                requestUrgency = RequestUrgency.valueOf(urgency.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        try {
+            return ResponseEntity.ok(requestStreamService.subscribe(requestCategory, requestUrgency, lastEventId));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
     @PostMapping
-    public ResponseEntity<?> createRequest(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<?> createRequest(@RequestBody Map<String, Object> request,
+                                           @AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            Long userId = Long.valueOf(request.get("userId").toString());
+            // A signed token names the user; the body's userId is only used by clients without one
+            if (principal != null && !principal.allows(request.get("userId"))) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "userId does not match the signed-in user"));
+            }
+            Long userId = principal != null ? principal.id() : Long.valueOf(request.get("userId").toString());
             String title = (String) request.get("title");
             String description = (String) request.get("description");
             String categoryStr = (String) request.get("category");
@@ -95,9 +285,12 @@ public class RequestController {
                 return ResponseEntity.badRequest().body(Map.of("error", "All fields are required"));
             }
 
-            Optional<User> userOpt = userService.findById(userId);
-            if (userOpt.isEmpty()) {
-                return ResponseEntity.badRequest().body(Map.of("error", "User not found"));
+            Optional<User> userOpt = Optional.empty();
+            if (principal == null) {
+                userOpt = userService.findById(userId);
+                if (userOpt.isEmpty()) {
+                    return ResponseEntity.badRequest().body(Map.of("error", "User not found"));
+                }
             }
 
             RequestCategory category;
@@ -110,20 +303,25 @@ public class RequestController {
                 return ResponseEntity.badRequest().body(Map.of("error", "Invalid category or urgency"));
             }
 
-            Request newRequest = requestService.createRequest(userOpt.get(), title, description, category, urgency);
+            double[] location;
+            try {
+                location = Coordinates.parse(request.get("latitude"), request.get("longitude"));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+            Double latitude = location == null ? null : location[0];
+            Double longitude = location == null ? null : location[1];
+
+            Request newRequest = userOpt.isPresent()
+                ? requestService.createRequest(userOpt.get(), title, description, category, urgency,
+                                               latitude, longitude)
+                : requestService.createRequest(principal, title, description, category, urgency,
+                                               latitude, longitude);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Request created successfully");
-            response.put("request", Map.of(
-                "id", newRequest.getId(),
-                "title", newRequest.getTitle(),
-                "description", newRequest.getDescription(),
-                "category", newRequest.getCategory().toString(),
-                "urgency", newRequest.getUrgency().toString(),
-                "status", newRequest.getStatus().toString(),
-                "createdAt", newRequest.getCreatedAt().toString()
-            ));
+            response.put("request", RequestResponse.created(newRequest));
 
             return ResponseEntity.ok(response);
 
@@ -132,29 +330,149 @@ public class RequestController {
         }
     }
 
-    @PutMapping("/{id}/accept")
-    public ResponseEntity<?> acceptRequest(@PathVariable Long id, @RequestBody Map<String, Object> request) {
+    @PostMapping("/batch")
+    public ResponseEntity<?> createRequests(@RequestBody Map<String, Object> request,
+                                            @AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            Long volunteerId = Long.valueOf(request.get("volunteerId").toString());
+            if (!(request.get("requests") instanceof List<?> items) || items.isEmpty()) {
+                return ResponseEntity.badRequest().body(Map.of("error", "A non-empty requests list is required"));
+            }
+            if (items.size() > MAX_BATCH_SIZE) {
+                return ResponseEntity.badRequest().body(Map.of("error", "At most " + MAX_BATCH_SIZE + " requests per batch"));
+            }
+
+            // With a token every request is the signed-in user's; otherwise each item names its requester.
+            // Requesters are resolved with one IN query instead of a lookup per item.
+            Set<Long> userIds = new HashSet<>();
+            if (principal != null) {
+                userIds.add(principal.id());
+            }
+            for (Object item : items) {
+                if (principal == null && item instanceof Map<?, ?> fields && fields.get("userId") != null) {
+                    try {
+                        userIds.add(Long.valueOf(fields.get("userId").toString()));
+                    } catch (NumberFormatException e) {
+                        // Reported with the item below
+                    }
+                }
+            }
+            Map<Long, User> users = userService.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+
+            List<Request> newRequests = new ArrayList<>(items.size());
+            List<Map<String, Object>> errors = new ArrayList<>();
+            for (int i = 0; i < items.size(); i++) {
+                String error = null;
+                Request newRequest = null;
+
+                if (!(items.get(i) instanceof Map<?, ?> fields)) {
+                    error = "Request must be an object";
+                } else if ((principal == null && fields.get("userId") == null) || fields.get("title") == null
+                           || fields.get("description") == null || fields.get("category") == null
+                           || fields.get("urgency") == null) {
+                    error = "All fields are required";
+                } else if (principal != null && !principal.allows(fields.get("userId"))) {
+                    error = "userId does not match the signed-in user";
+                } else {
+                    User user = null;
+                    try {
+                        user = users.get(principal != null ? principal.id() : Long.valueOf(fields.get("userId").toString()));
+                    } catch (NumberFormatException e) {
+                        // Treated as an unknown user
+                    }
+
+                    if (user == null) {
+                        error = "User not found";
+                    } else {
+                        try {
+                            newRequest = new Request(user, fields.get("title").toString(), fields.get("description").toString(),
+                                                     RequestCategory.valueOf(fields.get("category").toString().toUpperCase()),
+                                                     RequestUrgency.valueOf(fields.get("urgency").toString().toUpperCase()));
+                        } catch (IllegalArgumentException e) {
+                            error = "Invalid category or urgency";
+                        }
+                        if (newRequest != null) {
+                            try {
+                                double[] location = Coordinates.parse(fields.get("latitude"), fields.get("longitude"));
+                                if (location != null) {
+                                    newRequest.setLatitude(location[0]);
+                                    newRequest.setLongitude(location[1]);
+                                }
+                            } catch (IllegalArgumentException e) {
+                                error = e.getMessage();
+                                newRequest = null;
+                            }
+                        }
+                    }
+                }
+
+                if (newRequest != null) {
+                    Set<ConstraintViolation<Request>> violations = validator.validate(newRequest);
+                    if (!violations.isEmpty()) {
+                        error = violations.iterator().next().getMessage();
+                    }
+                }
+
+                if (error != null) {
+                    Map<String, Object> itemError = new HashMap<>();
+                    itemError.put("index", i);
+                    itemError.put("error", error);
+                    errors.add(itemError);
+                } else {
+                    newRequests.add(newRequest);
+                }
+            }
 
-            Optional<User> volunteerOpt = userService.findById(volunteerId);
-            if (volunteerOpt.isEmpty()) {
-                return ResponseEntity.badRequest().body(Map.of("error", "Volunteer not found"));
+            // All or nothing: nothing is saved while any item is invalid
+            if (!errors.isEmpty()) {
+                Map<String, Object> response = new HashMap<>();
+                response.put("error", "Some requests are invalid");
+                response.put("errors", errors);
+                return ResponseEntity.badRequest().body(response);
             }
 
-            Assignment assignment = requestService.acceptRequest(id, volunteerOpt.get());
+            List<Request> createdRequests = requestService.createRequests(newRequests);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", createdRequests.size() + " requests created successfully");
+            response.put("requests", createdRequests.stream().map(RequestResponse::created).toList());
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to create requests"));
+        }
+    }
+
+    @PutMapping("/{id}/accept")
+    public ResponseEntity<?> acceptRequest(@PathVariable Long id, @RequestBody Map<String, Object> request,
+                                           @AuthenticationPrincipal AuthenticatedUser principal) {
+        try {
+            Long volunteerId;
+            if (principal != null) {
+                if (!principal.allows(request.get("volunteerId"))) {
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "volunteerId does not match the signed-in user"));
+                }
+                volunteerId = principal.id();
+            } else {
+                volunteerId = Long.valueOf(request.get("volunteerId").toString());
+                if (userService.findById(volunteerId).isEmpty()) {
+                    return ResponseEntity.badRequest().body(Map.of("error", "Volunteer not found"));
+                }
+            }
+
+            Assignment assignment = requestService.acceptRequest(id, volunteerId);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Request accepted successfully");
-            response.put("assignment", Map.of(
-                "id", assignment.getId(),
-                "status", assignment.getStatus().toString(),
-                "createdAt", assignment.getCreatedAt().toString()
-            ));
+            response.put("assignment", AssignmentResponse.from(assignment));
 
             return ResponseEntity.ok(response);
 
+        } catch (RequestConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
@@ -163,24 +481,28 @@ public class RequestController {
     }
 
     @PutMapping("/{id}/complete")
-    public ResponseEntity<?> completeRequest(@PathVariable Long id, @RequestBody Map<String, Object> request) {
+    public ResponseEntity<?> completeRequest(@PathVariable Long id, @RequestBody Map<String, Object> request,
+                                             @AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            Long volunteerId = Long.valueOf(request.get("volunteerId").toString());
-
-            Optional<User> volunteerOpt = userService.findById(volunteerId);
-            if (volunteerOpt.isEmpty()) {
-                return ResponseEntity.badRequest().body(Map.of("error", "Volunteer not found"));
+            Long volunteerId;
+            if (principal != null) {
+                if (!principal.allows(request.get("volunteerId"))) {
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "volunteerId does not match the signed-in user"));
+                }
+                volunteerId = principal.id();
+            } else {
+                volunteerId = Long.valueOf(request.get("volunteerId").toString());
+                if (userService.findById(volunteerId).isEmpty()) {
+                    return ResponseEntity.badRequest().body(Map.of("error", "Volunteer not found"));
+                }
             }
 
-            Request completedRequest = requestService.completeRequest(id, volunteerOpt.get());
+            Request completedRequest = requestService.completeRequest(id, volunteerId);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Request completed successfully");
-            response.put("request", Map.of(
-                "id", completedRequest.getId(),
-                "status", completedRequest.getStatus().toString()
-            ));
+            response.put("request", RequestResponse.statusOf(completedRequest));
 
             return ResponseEntity.ok(response);
 
@@ -192,7 +514,8 @@ public class RequestController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteRequest(@PathVariable Long id) {
+    public ResponseEntity<?> deleteRequest(@PathVariable Long id,
+                                           @AuthenticationPrincipal AuthenticatedUser principal) {
         try {
             Optional<Request> requestOpt = requestService.findById(id);
             if (requestOpt.isEmpty()) {
@@ -206,7 +529,7 @@ public class RequestController {
                 return ResponseEntity.badRequest().body(Map.of("error", "Can only delete open requests"));
             }
 
-            requestService.deleteRequest(id);
+            requestService.deleteRequest(id, principal != null ? principal.id() : null);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -220,7 +543,8 @@ public class RequestController {
     }
 
     @PutMapping("/{id}/cancel")
-    public ResponseEntity<?> cancelRequest(@PathVariable Long id) {
+    public ResponseEntity<?> cancelRequest(@PathVariable Long id,
+                                           @AuthenticationPrincipal AuthenticatedUser principal) {
         try {
             Optional<Request> requestOpt = requestService.findById(id);
             if (requestOpt.isEmpty()) {
@@ -229,15 +553,13 @@ public class RequestController {
 
             Request request = requestOpt.get();
             request.setStatus(RequestStatus.CANCELLED);
-            Request updatedRequest = requestService.updateRequest(request);
+            // Who cancelled, and when, is recorded in the request journal
+            Request updatedRequest = requestService.updateRequest(request, principal != null ? principal.id() : null);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Request cancelled successfully");
-            response.put("request", Map.of(
-                "id", updatedRequest.getId(),
-                "status", updatedRequest.getStatus().toString()
-            ));
+            response.put("request", RequestResponse.statusOf(updatedRequest));
 
             return ResponseEntity.ok(response);
 
@@ -247,7 +569,8 @@ public class RequestController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateRequest(@PathVariable Long id, @RequestBody Map<String, Object> request) {
+    public ResponseEntity<?> updateRequest(@PathVariable Long id, @RequestBody Map<String, Object> request,
+                                           @AuthenticationPrincipal AuthenticatedUser principal) {
         try {
             Optional<Request> requestOpt = requestService.findById(id);
             if (requestOpt.isEmpty()) {
@@ -285,19 +608,24 @@ public class RequestController {
                 }
             }
 
-            Request updatedRequest = requestService.updateRequest(existingRequest);
+            // Both null clears the location
+            if (request.containsKey("latitude") || request.containsKey("longitude")) {
+                try {
+                    double[] location = Coordinates.parse(request.get("latitude"), request.get("longitude"));
+                    existingRequest.setLatitude(location == null ? null : location[0]);
+                    existingRequest.setLongitude(location == null ? null : location[1]);
+                } catch (IllegalArgumentException e) {
+                    return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+                }
+            }
+
+            Request updatedRequest = requestService.updateRequest(existingRequest,
+                                                                  principal != null ? principal.id() : null);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Request updated successfully");
-            response.put("request", Map.of(
-                "id", updatedRequest.getId(),
-                "title", updatedRequest.getTitle(),
-                "description", updatedRequest.getDescription(),
-                "category", updatedRequest.getCategory().toString(),
-                "urgency", updatedRequest.getUrgency().toString(),
-                "status", updatedRequest.getStatus().toString()
-            ));
+            response.put("request", RequestResponse.updated(updatedRequest));
 
             return ResponseEntity.ok(response);
 
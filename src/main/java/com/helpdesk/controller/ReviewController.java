@@ -1,15 +1,25 @@
 package com.helpdesk.controller;
 
+import com.helpdesk.dto.AuthenticatedUser;
+import com.helpdesk.dto.ReviewResponse;
+import com.helpdesk.dto.StreamedArray;
+import com.helpdesk.dto.VolunteerReview;
 import com.helpdesk.entity.Review;
+import com.helpdesk.service.ContentVersionService;
+import com.helpdesk.service.RatingUpdateService;
 import com.helpdesk.service.ReviewService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/reviews")
@@ -18,9 +28,22 @@ public class ReviewController {
     @Autowired
     private ReviewService reviewService;
 
+    @Autowired
+    private RatingUpdateService ratingUpdateService;
+
+    @Autowired
+    private ContentVersionService contentVersions;
+
     @PostMapping("/requests/{requestId}")
-    public ResponseEntity<?> submitReview(@PathVariable Long requestId, @RequestBody Map<String, Object> request) {
+    public ResponseEntity<?> submitReview(@PathVariable Long requestId, @RequestBody Map<String, Object> request,
+                                          @AuthenticationPrincipal AuthenticatedUser principal) {
         try {
+            // The reviewer is the requester: the token's user, or requesterId for clients without a token
+            if (principal != null && !principal.allows(request.get("requesterId"))) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "requesterId does not match the signed-in user"));
+            }
+            Long requesterId = principal != null ? principal.id()
+                : request.get("requesterId") != null ? Long.valueOf(request.get("requesterId").toString()) : null;
             Long volunteerId = Long.valueOf(request.get("volunteerId").toString());
             Integer rating = Integer.valueOf(request.get("rating").toString());
             String comment = (String) request.get("comment");
@@ -29,17 +52,12 @@ public class ReviewController {
                 return ResponseEntity.badRequest().body(Map.of("error", "Rating must be between 1 and 5"));
             }
 
-            Review review = reviewService.createReview(requestId, volunteerId, rating, comment);
+            Review review = reviewService.createReview(requestId, requesterId, volunteerId, rating, comment);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Review submitted successfully");
-            response.put("review", Map.of(
-                "id", review.getId(),
-                "rating", review.getRating(),
-                "comment", review.getComment() != null ? review.getComment() : "",
-                "createdAt", review.getCreatedAt().toString()
-            ));
+            response.put("review", ReviewResponse.from(review));
 
             return ResponseEntity.ok(response);
 
@@ -50,25 +68,23 @@ public class ReviewController {
         }
     }
 
+    // One read-only transaction for the ETag and the body (see RequestController)
     @GetMapping("/volunteers/{volunteerId}")
-    public ResponseEntity<?> getVolunteerReviews(@PathVariable Long volunteerId) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getVolunteerReviews(@PathVariable Long volunteerId, WebRequest webRequest) {
         try {
-            List<Review> reviews = reviewService.getReviewsForVolunteer(volunteerId);
-
-            List<Map<String, Object>> reviewList = reviews.stream().map(review -> {
-                Map<String, Object> reviewMap = new HashMap<>();
-                reviewMap.put("id", review.getId());
-                reviewMap.put("rating", review.getRating());
-                reviewMap.put("comment", review.getComment() != null ? review.getComment() : "");
-                reviewMap.put("createdAt", review.getCreatedAt().toString());
-                reviewMap.put("request", Map.of(
-                    "id", review.getRequest().getId(),
-                    "title", review.getRequest().getTitle()
-                ));
-                return reviewMap;
-            }).collect(Collectors.toList());
+            // Each review shows its request's title
+            if (webRequest.checkNotModified(contentVersions.etag(ContentVersionService.Content.REVIEWS,
+                                                                 ContentVersionService.Content.REQUESTS))) {
+                return null;
+            }
 
-            return ResponseEntity.ok(Map.of("reviews", reviewList));
+            List<VolunteerReview> reviews = reviewService.getReviewsForVolunteer(volunteerId);
+
+            StreamedArray<VolunteerReview> reviewList = StreamedArray.of(reviews, ReviewResponse::withRequest);
+
+            // checkNotModified has already set the ETag header
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(Map.of("reviews", reviewList));
 
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(Map.of("error", "Failed to fetch reviews"));
@@ -80,19 +96,8 @@ public class ReviewController {
         try {
             List<Review> reviews = reviewService.getReviewsForRequest(requestId);
 
-            List<Map<String, Object>> reviewList = reviews.stream().map(review -> {
-                Map<String, Object> reviewMap = new HashMap<>();
-                reviewMap.put("id", review.getId());
-                reviewMap.put("rating", review.getRating());
-                reviewMap.put("comment", review.getComment() != null ? review.getComment() : "");
-                reviewMap.put("createdAt", review.getCreatedAt().toString());
-                reviewMap.put("volunteer", Map.of(
-                    "id", review.getVolunteer().getId(),
-                    "name", review.getVolunteer().getName(),
-                    "rating", review.getVolunteer().getRating()
-                ));
-                return reviewMap;
-            }).collect(Collectors.toList());
+            // The volunteers were fetched with the reviews; these few rows are converted up front
+            List<ReviewResponse> reviewList = reviews.stream().map(ReviewResponse::withVolunteer).toList();
 
             return ResponseEntity.ok(Map.of("reviews", reviewList));
 
@@ -100,4 +105,14 @@ public class ReviewController {
             return ResponseEntity.internalServerError().body(Map.of("error", "Failed to fetch reviews"));
         }
     }
+
+    @GetMapping("/rating-updates")
+    public ResponseEntity<?> getRatingUpdateStatus() {
+        try {
+            return ResponseEntity.ok(ratingUpdateService.getStatus());
+
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to fetch rating update status"));
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package com.helpdesk.controller;
+
+import com.helpdesk.dto.VolunteerRecommendations;
+import com.helpdesk.service.RecommendationService;
+import com.helpdesk.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/volunteers")
+public class VolunteerController {
+
+    private static final int DEFAULT_RECOMMENDATIONS = 10;
+    private static final int MAX_RECOMMENDATIONS = 50;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private UserService userService;
+
+    @GetMapping("/{id}/recommended")
+    public ResponseEntity<?> getRecommendedRequests(@PathVariable Long id,
+                                                    @RequestParam(required = false) Integer limit) {
+        try {
+            int count = limit == null ? DEFAULT_RECOMMENDATIONS : limit;
+            if (count < 1 || count > MAX_RECOMMENDATIONS) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Limit must be between 1 and " + MAX_RECOMMENDATIONS));
+            }
+
+            if (userService.findById(id).isEmpty()) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Volunteer not found"));
+            }
+
+            VolunteerRecommendations recommendations = recommendationService.recommend(id, count);
+            return ResponseEntity.ok(recommendations);
+
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to fetch recommendations"));
+        }
+    }
+}
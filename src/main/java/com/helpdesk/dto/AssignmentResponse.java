@@ -0,0 +1,18 @@
+package com.helpdesk.dto;
+
+import com.helpdesk.entity.Assignment;
+
+public record AssignmentResponse(
+    Long id,
+    String status,
+    String createdAt
+) {
+
+    public static AssignmentResponse from(Assignment assignment) {
+        return new AssignmentResponse(
+            assignment.getId(),
+            assignment.getStatus().toString(),
+            assignment.getCreatedAt().toString()
+        );
+    }
+}
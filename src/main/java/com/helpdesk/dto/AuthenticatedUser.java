@@ -0,0 +1,25 @@
+package com.helpdesk.dto;
+
+import com.helpdesk.entity.UserRole;
+
+// Principal restored from a signed token, without loading the user. The rating is the one the user had when the
+// token was issued.
+public record AuthenticatedUser(
+    Long id,
+    UserRole role,
+    String name,
+    Double rating
+) {
+
+    // Bodies may still carry a user id from before tokens; it has to name this user when present
+    public boolean allows(Object bodyUserId) {
+        if (bodyUserId == null) {
+            return true;
+        }
+        try {
+            return id.equals(Long.valueOf(bodyUserId.toString()));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.helpdesk.dto;
+
+import com.helpdesk.entity.RequestCategory;
+
+// A volunteer's history in one category: how many requests they took on, and how many of those were reviewed
+// with which rating total. Kept as totals so hot and archived history can be added up.
+public record CategoryAffinity(
+    RequestCategory category,
+    Long assignmentCount,
+    Long ratingCount,
+    Long ratingSum
+) {
+
+    public CategoryAffinity {
+        // SUM over no reviews is NULL
+        ratingSum = ratingSum == null ? 0L : ratingSum;
+    }
+
+    // null when none of the requests were reviewed
+    public Double averageRating() {
+        return ratingCount == 0 ? null : ratingSum / (double) ratingCount;
+    }
+
+    public CategoryAffinity plus(CategoryAffinity other) {
+        return new CategoryAffinity(category, assignmentCount + other.assignmentCount,
+                                    ratingCount + other.ratingCount, ratingSum + other.ratingSum);
+    }
+}
@@ -0,0 +1,23 @@
+package com.helpdesk.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// Community member; the directory fills in the activity fields, the profile page the recent lists
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MemberResponse(
+    Long id,
+    String name,
+    String email,
+    String role,
+    Double rating,
+    String joinedAt,
+    Integer totalRequests,
+    Integer totalReviews,
+    String activityLevel,
+    String recentActivity,
+    List<RequestResponse> recentRequests,
+    List<ReviewResponse> recentReviews
+) {
+}
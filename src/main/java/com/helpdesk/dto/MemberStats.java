@@ -0,0 +1,18 @@
+package com.helpdesk.dto;
+
+import com.helpdesk.entity.UserRole;
+
+import java.time.LocalDateTime;
+
+// Community member together with request and review counts, aggregated in the database
+public record MemberStats(
+    Long id,
+    String name,
+    String email,
+    UserRole role,
+    Double rating,
+    LocalDateTime createdAt,
+    Long requestCount,
+    Long reviewCount
+) {
+}
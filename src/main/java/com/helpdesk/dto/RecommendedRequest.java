@@ -0,0 +1,13 @@
+package com.helpdesk.dto;
+
+public record RecommendedRequest(double score, RequestResponse request) {
+
+    public static RecommendedRequest of(RequestFeedItem item, double score, int descriptionLength) {
+        String description = item.description();
+        boolean truncated = description.length() > descriptionLength;
+        if (truncated) {
+            description = description.substring(0, descriptionLength);
+        }
+        return new RecommendedRequest(score, RequestResponse.from(item, description, truncated));
+    }
+}
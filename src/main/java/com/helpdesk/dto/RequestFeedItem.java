@@ -0,0 +1,47 @@
+package com.helpdesk.dto;
+
+import com.helpdesk.entity.Request;
+import com.helpdesk.entity.RequestCategory;
+import com.helpdesk.entity.RequestStatus;
+import com.helpdesk.entity.RequestUrgency;
+
+import java.time.LocalDateTime;
+
+// Flat row for the request feed, selected together with the requester in one query
+public record RequestFeedItem(
+    Long id,
+    String title,
+    String description,
+    RequestCategory category,
+    RequestUrgency urgency,
+    RequestStatus status,
+    LocalDateTime createdAt,
+    Long userId,
+    String userName,
+    Double userRating,
+    Double latitude,
+    Double longitude
+) {
+
+    public static RequestFeedItem from(Request request) {
+        return from(request, request.getUser().getName(), request.getUser().getRating());
+    }
+
+    // For a request whose user is only a reference, with the name and rating known from elsewhere
+    public static RequestFeedItem from(Request request, String userName, Double userRating) {
+        return new RequestFeedItem(
+            request.getId(),
+            request.getTitle(),
+            request.getDescription(),
+            request.getCategory(),
+            request.getUrgency(),
+            request.getStatus(),
+            request.getCreatedAt(),
+            request.getUser().getId(),
+            userName,
+            userRating,
+            request.getLatitude(),
+            request.getLongitude()
+        );
+    }
+}
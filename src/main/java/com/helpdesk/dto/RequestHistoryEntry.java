@@ -0,0 +1,28 @@
+package com.helpdesk.dto;
+
+import com.helpdesk.service.RequestJournal;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+public record RequestHistoryEntry(
+    long sequence,
+    String type,
+    Long actorId,
+    String at,
+    String category,
+    Integer rating
+) {
+
+    public static RequestHistoryEntry from(RequestJournal.Entry entry) {
+        return new RequestHistoryEntry(
+            entry.sequence(),
+            entry.type().toString(),
+            entry.actorId(),
+            LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.timestampMillis()), ZoneId.systemDefault()).toString(),
+            entry.category() != null ? entry.category().toString() : null,
+            entry.rating()
+        );
+    }
+}
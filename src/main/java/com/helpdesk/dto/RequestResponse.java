@@ -0,0 +1,98 @@
+package com.helpdesk.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.helpdesk.entity.Request;
+
+// Request as returned by the API; endpoints that return fewer fields leave the rest null
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RequestResponse(
+    Long id,
+    String title,
+    String description,
+    Boolean descriptionTruncated,
+    String category,
+    String urgency,
+    String status,
+    String createdAt,
+    UserSummary user,
+    Double latitude,
+    Double longitude,
+    // Only set by nearby searches: kilometres from the searched point
+    Double distanceKm
+) {
+
+    public static RequestResponse from(RequestFeedItem request) {
+        return from(request, request.description(), null);
+    }
+
+    public static RequestResponse from(RequestFeedItem request, String description, Boolean descriptionTruncated) {
+        return from(request, description, descriptionTruncated, null);
+    }
+
+    public static RequestResponse from(RequestFeedItem request, String description, Boolean descriptionTruncated,
+                                       Double distanceKm) {
+        return new RequestResponse(
+            request.id(),
+            request.title(),
+            description,
+            descriptionTruncated,
+            request.category().toString(),
+            request.urgency().toString(),
+            request.status().toString(),
+            request.createdAt().toString(),
+            new UserSummary(request.userId(), request.userName(), request.userRating()),
+            request.latitude(),
+            request.longitude(),
+            distanceKm
+        );
+    }
+
+    public static RequestResponse created(Request request) {
+        return new RequestResponse(
+            request.getId(),
+            request.getTitle(),
+            request.getDescription(),
+            null,
+            request.getCategory().toString(),
+            request.getUrgency().toString(),
+            request.getStatus().toString(),
+            request.getCreatedAt().toString(),
+            null,
+            request.getLatitude(),
+            request.getLongitude(),
+            null
+        );
+    }
+
+    public static RequestResponse updated(Request request) {
+        return new RequestResponse(
+            request.getId(),
+            request.getTitle(),
+            request.getDescription(),
+            null,
+            request.getCategory().toString(),
+            request.getUrgency().toString(),
+            request.getStatus().toString(),
+            null,
+            null,
+            request.getLatitude(),
+            request.getLongitude(),
+            null
+        );
+    }
+
+    public static RequestResponse statusOf(Request request) {
+        return new RequestResponse(request.getId(), null, null, null, null, null,
+                                   request.getStatus().toString(), null, null, null, null, null);
+    }
+
+    public static RequestResponse summaryOf(Request request) {
+        return new RequestResponse(request.getId(), request.getTitle(), null, null,
+                                   request.getCategory().toString(), null, request.getStatus().toString(),
+                                   request.getCreatedAt().toString(), null, null, null, null);
+    }
+
+    public static RequestResponse reference(Long id, String title) {
+        return new RequestResponse(id, title, null, null, null, null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,43 @@
+package com.helpdesk.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.helpdesk.entity.Review;
+
+// Review as returned by the API; the request or the volunteer is attached depending on the listing
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ReviewResponse(
+    Long id,
+    Integer rating,
+    String comment,
+    String createdAt,
+    RequestResponse request,
+    String requestTitle,
+    UserSummary volunteer
+) {
+
+    public static ReviewResponse from(Review review) {
+        return new ReviewResponse(review.getId(), review.getRating(), commentOf(review.getComment()),
+                                  review.getCreatedAt().toString(), null, null, null);
+    }
+
+    public static ReviewResponse withVolunteer(Review review) {
+        return new ReviewResponse(review.getId(), review.getRating(), commentOf(review.getComment()),
+                                  review.getCreatedAt().toString(), null, null,
+                                  UserSummary.from(review.getVolunteer()));
+    }
+
+    public static ReviewResponse withRequest(VolunteerReview review) {
+        return new ReviewResponse(review.id(), review.rating(), commentOf(review.comment()),
+                                  review.createdAt().toString(),
+                                  RequestResponse.reference(review.requestId(), review.requestTitle()), null, null);
+    }
+
+    public static ReviewResponse withRequestTitle(VolunteerReview review) {
+        return new ReviewResponse(review.id(), review.rating(), commentOf(review.comment()),
+                                  review.createdAt().toString(), null, review.requestTitle(), null);
+    }
+
+    private static String commentOf(String comment) {
+        return comment != null ? comment : "";
+    }
+}
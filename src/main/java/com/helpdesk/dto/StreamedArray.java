@@ -0,0 +1,41 @@
+package com.helpdesk.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+// JSON array whose elements are converted one at a time while Jackson writes the response,
+// so a large listing never exists as a second list of response objects
+public final class StreamedArray<T> extends JsonSerializable.Base {
+
+    private final Iterable<? extends T> source;
+    private final Function<? super T, ?> mapper;
+
+    private StreamedArray(Iterable<? extends T> source, Function<? super T, ?> mapper) {
+        this.source = source;
+        this.mapper = mapper;
+    }
+
+    public static <T> StreamedArray<T> of(Iterable<? extends T> source, Function<? super T, ?> mapper) {
+        return new StreamedArray<>(source, mapper);
+    }
+
+    @Override
+    public void serialize(JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartArray();
+        for (T item : source) {
+            provider.defaultSerializeValue(mapper.apply(item), generator);
+        }
+        generator.writeEndArray();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator generator, SerializerProvider provider,
+                                  TypeSerializer typeSerializer) throws IOException {
+        serialize(generator, provider);
+    }
+}
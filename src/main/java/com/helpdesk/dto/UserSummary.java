@@ -0,0 +1,15 @@
+package com.helpdesk.dto;
+
+import com.helpdesk.entity.User;
+
+// Requester or volunteer as embedded in request and review responses
+public record UserSummary(
+    Long id,
+    String name,
+    Double rating
+) {
+
+    public static UserSummary from(User user) {
+        return new UserSummary(user.getId(), user.getName(), user.getRating());
+    }
+}
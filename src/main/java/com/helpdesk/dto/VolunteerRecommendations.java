@@ -0,0 +1,10 @@
+package com.helpdesk.dto;
+
+import java.util.List;
+
+public record VolunteerRecommendations(
+    Long volunteerId,
+    long activeAssignments,
+    List<RecommendedRequest> requests
+) {
+}
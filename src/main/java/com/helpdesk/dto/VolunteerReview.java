@@ -0,0 +1,14 @@
+package com.helpdesk.dto;
+
+import java.time.LocalDateTime;
+
+// Review of a volunteer together with the title of the request it was left on
+public record VolunteerReview(
+    Long id,
+    Integer rating,
+    String comment,
+    LocalDateTime createdAt,
+    Long requestId,
+    String requestTitle
+) {
+}
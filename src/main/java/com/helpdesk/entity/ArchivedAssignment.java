@@ -0,0 +1,62 @@
+package com.helpdesk.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// Assignment of an archived request; the request id is a plain column, as the request lives in requests_archive
+@Entity
+@Immutable
+@Table(name = "assignments_archive", indexes = {
+    @Index(name = "idx_assignments_archive_volunteer_request", columnList = "volunteer_id, request_id")
+})
+public class ArchivedAssignment {
+
+    @Id
+    private Long id;
+
+    @Column(name = "request_id", nullable = false)
+    private Long requestId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "volunteer_id", nullable = false)
+    private User volunteer;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private AssignmentStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    protected ArchivedAssignment() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public User getVolunteer() {
+        return volunteer;
+    }
+
+    public AssignmentStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+}
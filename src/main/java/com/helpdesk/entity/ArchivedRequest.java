@@ -0,0 +1,115 @@
+package com.helpdesk.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// Completed or cancelled request moved out of `requests` by RequestArchiveService. Rows are only ever
+// written by the archiver's INSERT ... SELECT, so the columns mirror Request's and Hibernate never updates them.
+@Entity
+@Immutable
+@Table(name = "requests_archive", indexes = {
+    @Index(name = "idx_requests_archive_user_created", columnList = "user_id, created_at")
+})
+public class ArchivedRequest {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    @Column(name = "description", nullable = false, columnDefinition = "TEXT")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category", nullable = false)
+    private RequestCategory category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "urgency", nullable = false)
+    private RequestUrgency urgency;
+
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private RequestStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    protected ArchivedRequest() {
+    }
+
+    // Detached copy for history views that list hot and archived requests together; never saved
+    public Request toRequest() {
+        Request request = new Request(user, title, description, category, urgency);
+        request.setId(id);
+        request.setLatitude(latitude);
+        request.setLongitude(longitude);
+        request.setStatus(status);
+        request.setCreatedAt(createdAt);
+        request.setClosedAt(closedAt);
+        return request;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public RequestCategory getCategory() {
+        return category;
+    }
+
+    public RequestUrgency getUrgency() {
+        return urgency;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public RequestStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
@@ -0,0 +1,74 @@
+package com.helpdesk.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// Review of an archived request; the request id is a plain column, as the request lives in requests_archive
+@Entity
+@Immutable
+@Table(name = "reviews_archive", indexes = {
+    @Index(name = "idx_reviews_archive_request_volunteer", columnList = "request_id, volunteer_id"),
+    @Index(name = "idx_reviews_archive_volunteer_created", columnList = "volunteer_id, created_at")
+})
+public class ArchivedReview {
+
+    @Id
+    private Long id;
+
+    @Column(name = "request_id", nullable = false)
+    private Long requestId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "volunteer_id", nullable = false)
+    private User volunteer;
+
+    @Column(name = "rating", nullable = false)
+    private Integer rating;
+
+    @Column(name = "comment", columnDefinition = "TEXT")
+    private String comment;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    protected ArchivedReview() {
+    }
+
+    // Detached copy for views that list hot and archived reviews together; never saved. The request is left
+    // unset because archived requests are not Request entities.
+    public Review toReview() {
+        Review review = new Review();
+        review.setId(id);
+        review.setVolunteer(volunteer);
+        review.setRating(rating);
+        review.setComment(comment);
+        review.setCreatedAt(createdAt);
+        return review;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public User getVolunteer() {
+        return volunteer;
+    }
+
+    public Integer getRating() {
+        return rating;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -5,7 +5,11 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "assignments")
+@Table(name = "assignments", indexes = {
+    @Index(name = "idx_assignments_request_volunteer", columnList = "request_id, volunteer_id"),
+    @Index(name = "idx_assignments_request_status", columnList = "request_id, status"),
+    @Index(name = "idx_assignments_volunteer_created", columnList = "volunteer_id, created_at")
+})
 public class Assignment {
     
     @Id
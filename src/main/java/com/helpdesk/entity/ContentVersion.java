@@ -0,0 +1,32 @@
+package com.helpdesk.entity;
+
+import jakarta.persistence.*;
+
+// Version of one kind of content behind the read endpoints' ETags (see ContentVersionService), one row per kind
+@Entity
+@Table(name = "content_versions")
+public class ContentVersion {
+
+    @Id
+    @Column(name = "content", length = 16)
+    private String content;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    protected ContentVersion() {
+    }
+
+    public ContentVersion(String content, Long version) {
+        this.content = content;
+        this.version = version;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
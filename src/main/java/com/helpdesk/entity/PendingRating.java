@@ -0,0 +1,49 @@
+package com.helpdesk.entity;
+
+import jakarta.persistence.*;
+
+// Outbox entry: a review rating not yet folded into the volunteer's users.rating (see RatingUpdateService)
+@Entity
+@Table(name = "rating_outbox")
+public class PendingRating {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Plain id: applying the rating is a single UPDATE, the user is never loaded
+    @Column(name = "volunteer_id", nullable = false)
+    private Long volunteerId;
+
+    @Column(name = "rating", nullable = false)
+    private Integer rating;
+
+    // Epoch millis rather than a DATETIME, whose whole seconds are too coarse to measure staleness
+    @Column(name = "recorded_at_millis", nullable = false)
+    private Long recordedAtMillis;
+
+    protected PendingRating() {
+    }
+
+    public PendingRating(Long volunteerId, Integer rating) {
+        this.volunteerId = volunteerId;
+        this.rating = rating;
+        this.recordedAtMillis = System.currentTimeMillis();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getVolunteerId() {
+        return volunteerId;
+    }
+
+    public Integer getRating() {
+        return rating;
+    }
+
+    public Long getRecordedAtMillis() {
+        return recordedAtMillis;
+    }
+}
@@ -5,15 +5,31 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "requests")
+@Table(name = "requests", indexes = {
+    // Open-request feed: equality on status, then seek on (created_at, id)
+    @Index(name = "idx_requests_status_created", columnList = "status, created_at, id"),
+    @Index(name = "idx_requests_status_category_created", columnList = "status, category, created_at, id"),
+    @Index(name = "idx_requests_status_urgency_created", columnList = "status, urgency, created_at, id"),
+    // A member's requests, newest first, and request counts per member
+    @Index(name = "idx_requests_user_created", columnList = "user_id, created_at"),
+    // Archiving: terminal requests by when they were closed
+    @Index(name = "idx_requests_status_closed", columnList = "status, closed_at")
+})
 public class Request {
+
+    public static final int ID_ALLOCATION_SIZE = 50;
     
+    // Ids come in blocks from a table generator so inserts can be sent as JDBC batches (IDENTITY cannot)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "request_ids")
+    @TableGenerator(name = "request_ids", table = "id_sequences", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "requests",
+                    allocationSize = Request.ID_ALLOCATION_SIZE)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -38,6 +54,13 @@ public class Request {
     @Column(name = "urgency", nullable = false)
     private RequestUrgency urgency;
     
+    // Optional; where help is needed, in WGS84 degrees
+    @Column(name = "latitude")
+    private Double latitude;
+    
+    @Column(name = "longitude")
+    private Double longitude;
+    
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private RequestStatus status = RequestStatus.OPEN;
@@ -45,6 +68,10 @@ public class Request {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
+    // When the request was completed or cancelled; archiving counts its age from here
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+    
     @OneToMany(mappedBy = "request", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Assignment> assignments = new ArrayList<>();
     
@@ -53,7 +80,10 @@ public class Request {
     
     // Constructors
     public Request() {
-        this.createdAt = LocalDateTime.now();
+        // The clock has nanoseconds but created_at is a datetime(6), which rounds to microseconds on insert.
+        // Cutting them here gives change events and the in-memory indexes the same value as the row, which keyset
+        // cursors built from either depend on.
+        this.createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
     
     public Request(User user, String title, String description, RequestCategory category, RequestUrgency urgency) {
@@ -114,6 +144,22 @@ public class Request {
         this.urgency = urgency;
     }
     
+    public Double getLatitude() {
+        return latitude;
+    }
+    
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+    
+    public Double getLongitude() {
+        return longitude;
+    }
+    
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+    
     public RequestStatus getStatus() {
         return status;
     }
@@ -130,6 +176,14 @@ public class Request {
         this.createdAt = createdAt;
     }
     
+    public LocalDateTime getClosedAt() {
+        return closedAt;
+    }
+    
+    public void setClosedAt(LocalDateTime closedAt) {
+        this.closedAt = closedAt;
+    }
+    
     public List<Assignment> getAssignments() {
         return assignments;
     }
@@ -8,7 +8,12 @@ import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+    @Index(name = "idx_reviews_request_volunteer", columnList = "request_id, volunteer_id"),
+    @Index(name = "idx_reviews_request_created", columnList = "request_id, created_at"),
+    // A volunteer's reviews, newest first, and review counts per volunteer
+    @Index(name = "idx_reviews_volunteer_created", columnList = "volunteer_id, created_at")
+})
 public class Review {
     
     @Id
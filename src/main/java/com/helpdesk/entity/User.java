@@ -4,6 +4,10 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -11,6 +15,10 @@ import java.util.List;
 
 @Entity
 @Table(name = "users")
+// Read on almost every request and changed only by rating updates, so kept in the second-level cache
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-entities")
+@NaturalIdCache(region = "user-natural-ids")
 public class User {
     
     @Id
@@ -24,6 +32,7 @@ public class User {
     
     @Email(message = "Invalid email format")
     @NotBlank(message = "Email is required")
+    @NaturalId
     @Column(name = "email", nullable = false, unique = true)
     private String email;
     
@@ -39,6 +48,19 @@ public class User {
     @Column(name = "rating", columnDefinition = "DECIMAL(3,2) DEFAULT 0.0")
     private Double rating = 0.0;
     
+    @Column(name = "rating_sum", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long ratingSum = 0L;
+    
+    @Column(name = "rating_count", nullable = false, columnDefinition = "INT DEFAULT 0")
+    private Integer ratingCount = 0;
+    
+    // Optional home location, in WGS84 degrees; clients use it as the default centre of nearby searches
+    @Column(name = "latitude")
+    private Double latitude;
+    
+    @Column(name = "longitude")
+    private Double longitude;
+    
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
@@ -110,6 +132,38 @@ public class User {
         this.rating = rating;
     }
     
+    public Long getRatingSum() {
+        return ratingSum;
+    }
+    
+    public void setRatingSum(Long ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+    
+    public Integer getRatingCount() {
+        return ratingCount;
+    }
+    
+    public void setRatingCount(Integer ratingCount) {
+        this.ratingCount = ratingCount;
+    }
+    
+    public Double getLatitude() {
+        return latitude;
+    }
+    
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+    
+    public Double getLongitude() {
+        return longitude;
+    }
+    
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
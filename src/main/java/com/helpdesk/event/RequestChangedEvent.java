@@ -0,0 +1,18 @@
+package com.helpdesk.event;
+
+import com.helpdesk.dto.RequestFeedItem;
+
+// Published by RequestService whenever a request is created or changes state.
+// request carries the current feed row for CREATED/UPDATED and is null for the other types.
+// actorId is the user who made the change, or null when a client without a token cancelled, edited or deleted it.
+public record RequestChangedEvent(Type type, Long requestId, RequestFeedItem request, Long actorId) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        ACCEPTED,
+        COMPLETED,
+        CANCELLED,
+        DELETED
+    }
+}
@@ -0,0 +1,6 @@
+package com.helpdesk.event;
+
+// Published by ReviewService when a volunteer is reviewed for a completed request. reviewerId is the signed-in
+// requester who wrote the review, null for clients without a token.
+public record ReviewCreatedEvent(Long reviewId, Long requestId, Long reviewerId, Long volunteerId, Integer rating) {
+}
@@ -0,0 +1,30 @@
+package com.helpdesk.repository;
+
+import com.helpdesk.dto.CategoryAffinity;
+import com.helpdesk.entity.ArchivedAssignment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedAssignmentRepository extends JpaRepository<ArchivedAssignment, Long> {
+
+    // Same as AssignmentRepository.findCategoryAffinities, over archived requests
+    @Query("SELECT new com.helpdesk.dto.CategoryAffinity(r.category, COUNT(a), COUNT(v), SUM(v.rating)) " +
+           "FROM ArchivedAssignment a JOIN ArchivedRequest r ON r.id = a.requestId " +
+           "LEFT JOIN ArchivedReview v ON v.requestId = a.requestId AND v.volunteer = a.volunteer " +
+           "WHERE a.volunteer.id = :volunteerId GROUP BY r.category")
+    List<CategoryAffinity> findCategoryAffinities(@Param("volunteerId") Long volunteerId);
+
+    @Modifying
+    @Query(value = "INSERT INTO assignments_archive (id, request_id, volunteer_id, status, created_at, completed_at) " +
+                   "SELECT id, request_id, volunteer_id, status, created_at, completed_at FROM assignments " +
+                   "WHERE request_id IN (:requestIds)",
+           nativeQuery = true)
+    int copyFromAssignments(@Param("requestIds") Collection<Long> requestIds);
+}
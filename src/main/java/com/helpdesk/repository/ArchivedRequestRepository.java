@@ -0,0 +1,26 @@
+package com.helpdesk.repository;
+
+import com.helpdesk.entity.ArchivedRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedRequestRepository extends JpaRepository<ArchivedRequest, Long> {
+
+    List<ArchivedRequest> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    // First half of a move; RequestArchiveService deletes the hot rows in the same transaction
+    @Modifying
+    @Query(value = "INSERT INTO requests_archive (id, user_id, title, description, category, urgency, latitude, " +
+                   "longitude, status, created_at, closed_at, archived_at) " +
+                   "SELECT id, user_id, title, description, category, urgency, latitude, longitude, status, " +
+                   "created_at, closed_at, CURRENT_TIMESTAMP FROM requests WHERE id IN (:requestIds)",
+           nativeQuery = true)
+    int copyFromRequests(@Param("requestIds") Collection<Long> requestIds);
+}
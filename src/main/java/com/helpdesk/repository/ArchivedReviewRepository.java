@@ -0,0 +1,35 @@
+package com.helpdesk.repository;
+
+import com.helpdesk.dto.VolunteerReview;
+import com.helpdesk.entity.ArchivedReview;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedReviewRepository extends JpaRepository<ArchivedReview, Long> {
+
+    @Query("SELECT new com.helpdesk.dto.VolunteerReview(v.id, v.rating, v.comment, v.createdAt, r.id, r.title) " +
+           "FROM ArchivedReview v JOIN ArchivedRequest r ON r.id = v.requestId " +
+           "WHERE v.volunteer.id = :volunteerId ORDER BY v.createdAt DESC")
+    List<VolunteerReview> findVolunteerReviews(@Param("volunteerId") Long volunteerId);
+
+    // Listed with each volunteer's name, so the volunteer is fetched in the same query
+    @EntityGraph(attributePaths = "volunteer")
+    List<ArchivedReview> findByRequestIdOrderByCreatedAtDesc(Long requestId);
+
+    boolean existsByRequestIdAndVolunteerId(Long requestId, Long volunteerId);
+
+    @Modifying
+    @Query(value = "INSERT INTO reviews_archive (id, request_id, volunteer_id, rating, comment, created_at) " +
+                   "SELECT id, request_id, volunteer_id, rating, comment, created_at FROM reviews " +
+                   "WHERE request_id IN (:requestIds)",
+           nativeQuery = true)
+    int copyFromReviews(@Param("requestIds") Collection<Long> requestIds);
+}
@@ -1,10 +1,15 @@
 package com.helpdesk.repository;
 
+import com.helpdesk.dto.CategoryAffinity;
 import com.helpdesk.entity.Assignment;
 import com.helpdesk.entity.AssignmentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +25,17 @@ public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
     List<Assignment> findByStatus(AssignmentStatus status);
     
     boolean existsByRequestIdAndStatus(Long requestId, AssignmentStatus status);
+
+    long countByVolunteerIdAndStatusIn(Long volunteerId, Collection<AssignmentStatus> statuses);
+
+    // Per category: how many requests the volunteer took on and how those were rated
+    @Query("SELECT new com.helpdesk.dto.CategoryAffinity(r.category, COUNT(a), COUNT(v), SUM(v.rating)) " +
+           "FROM Assignment a JOIN a.request r " +
+           "LEFT JOIN Review v ON v.request = r AND v.volunteer = a.volunteer " +
+           "WHERE a.volunteer.id = :volunteerId GROUP BY r.category")
+    List<CategoryAffinity> findCategoryAffinities(@Param("volunteerId") Long volunteerId);
+
+    @Modifying
+    @Query("DELETE FROM Assignment a WHERE a.request.id IN :requestIds")
+    int deleteByRequestIds(@Param("requestIds") Collection<Long> requestIds);
 }
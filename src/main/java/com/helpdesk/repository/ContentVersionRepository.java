@@ -0,0 +1,21 @@
+package com.helpdesk.repository;
+
+import com.helpdesk.entity.ContentVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+@Repository
+public interface ContentVersionRepository extends JpaRepository<ContentVersion, String> {
+
+    // One statement for every kind changed since the last flush, so the row locks are always taken in the same order
+    @Transactional
+    @Modifying
+    @Query("UPDATE ContentVersion v SET v.version = v.version + 1 WHERE v.content IN :contents")
+    int increment(@Param("contents") Collection<String> contents);
+}
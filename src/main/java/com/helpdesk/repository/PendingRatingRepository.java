@@ -0,0 +1,32 @@
+package com.helpdesk.repository;
+
+import com.helpdesk.entity.PendingRating;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PendingRatingRepository extends JpaRepository<PendingRating, Long> {
+
+    // FOR UPDATE SKIP LOCKED (lock timeout -2): nodes flushing at the same time each take different entries
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT p FROM PendingRating p ORDER BY p.id")
+    List<PendingRating> findBatchToApply(Pageable pageable);
+
+    // FOR UPDATE over every entry. Under InnoDB's default REPEATABLE READ its next-key locks also hold back new
+    // entries until the transaction ends, and it waits for flushes holding entries to commit.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM PendingRating p")
+    List<PendingRating> lockAll();
+
+    @Query("SELECT MIN(p.recordedAtMillis) FROM PendingRating p")
+    Long findOldestRecordedAtMillis();
+}
@@ -1,14 +1,19 @@
 package com.helpdesk.repository;
 
+import com.helpdesk.dto.RequestFeedItem;
 import com.helpdesk.entity.Request;
 import com.helpdesk.entity.RequestCategory;
 import com.helpdesk.entity.RequestStatus;
 import com.helpdesk.entity.RequestUrgency;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -24,6 +29,15 @@ public interface RequestRepository extends JpaRepository<Request, Long> {
     
     List<Request> findByUrgency(RequestUrgency urgency);
     
+    // Compare-and-set on status: only one concurrent caller can move a request out of OPEN
+    @Modifying
+    @Query("UPDATE Request r SET r.status = :newStatus WHERE r.id = :id AND r.status = :expectedStatus " +
+           "AND r.user.id <> :volunteerId")
+    int updateStatusIfCurrent(@Param("id") Long id,
+                              @Param("expectedStatus") RequestStatus expectedStatus,
+                              @Param("newStatus") RequestStatus newStatus,
+                              @Param("volunteerId") Long volunteerId);
+
     @Query("SELECT r FROM Request r WHERE r.status = :status AND " +
            "(:category IS NULL OR r.category = :category) AND " +
            "(:urgency IS NULL OR r.urgency = :urgency) " +
@@ -32,14 +46,79 @@ public interface RequestRepository extends JpaRepository<Request, Long> {
                                         @Param("category") RequestCategory category,
                                         @Param("urgency") RequestUrgency urgency);
 
-    @Query("SELECT r FROM Request r WHERE r.status = :status AND " +
+    // Native MySQL full-text search; searchTerm is a BOOLEAN MODE expression over the
+    // ft_requests_title_description index. Results are ranked by relevance, newest first on ties.
+    @Query(value = "SELECT r.* FROM requests r WHERE r.status = :status AND " +
+                   "(:category IS NULL OR r.category = :category) AND " +
+                   "(:urgency IS NULL OR r.urgency = :urgency) AND " +
+                   "MATCH(r.title, r.description) AGAINST (:searchTerm IN BOOLEAN MODE) " +
+                   "ORDER BY MATCH(r.title, r.description) AGAINST (:searchTerm IN BOOLEAN MODE) DESC, " +
+                   "r.created_at DESC, r.id DESC",
+           nativeQuery = true)
+    List<Request> findRequestsWithSearch(@Param("status") String status,
+                                       @Param("category") String category,
+                                       @Param("urgency") String urgency,
+                                       @Param("searchTerm") String searchTerm);
+
+    @Query(value = "SELECT r.id FROM requests r WHERE r.status = :status AND " +
+                   "(:category IS NULL OR r.category = :category) AND " +
+                   "(:urgency IS NULL OR r.urgency = :urgency) AND " +
+                   "MATCH(r.title, r.description) AGAINST (:searchTerm IN BOOLEAN MODE) " +
+                   "ORDER BY MATCH(r.title, r.description) AGAINST (:searchTerm IN BOOLEAN MODE) DESC, " +
+                   "r.created_at DESC, r.id DESC " +
+                   "LIMIT :limit OFFSET :offset",
+           nativeQuery = true)
+    List<Long> searchRequestIds(@Param("status") String status,
+                                @Param("category") String category,
+                                @Param("urgency") String urgency,
+                                @Param("searchTerm") String searchTerm,
+                                @Param("limit") int limit,
+                                @Param("offset") int offset);
+
+    String FEED_SELECT = "SELECT new com.helpdesk.dto.RequestFeedItem(r.id, r.title, " +
+                         "SUBSTRING(r.description, 1, :descriptionLength), r.category, r.urgency, r.status, " +
+                         "r.createdAt, u.id, u.name, u.rating, r.latitude, r.longitude) FROM Request r JOIN r.user u ";
+
+    @Query(FEED_SELECT + "WHERE r.status = :status AND " +
+           "(:category IS NULL OR r.category = :category) AND " +
+           "(:urgency IS NULL OR r.urgency = :urgency) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<RequestFeedItem> findFirstPage(@Param("status") RequestStatus status,
+                                        @Param("category") RequestCategory category,
+                                        @Param("urgency") RequestUrgency urgency,
+                                        @Param("descriptionLength") int descriptionLength,
+                                        Pageable pageable);
+
+    @Query(FEED_SELECT + "WHERE r.status = :status AND " +
            "(:category IS NULL OR r.category = :category) AND " +
            "(:urgency IS NULL OR r.urgency = :urgency) AND " +
-           "(:searchTerm IS NULL OR LOWER(r.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(r.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) " +
-           "ORDER BY r.createdAt DESC")
-    List<Request> findRequestsWithSearch(@Param("status") RequestStatus status,
-                                       @Param("category") RequestCategory category,
-                                       @Param("urgency") RequestUrgency urgency,
-                                       @Param("searchTerm") String searchTerm);
+           "(r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<RequestFeedItem> findPageBefore(@Param("status") RequestStatus status,
+                                         @Param("category") RequestCategory category,
+                                         @Param("urgency") RequestUrgency urgency,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         @Param("descriptionLength") int descriptionLength,
+                                         Pageable pageable);
+
+    @Query(FEED_SELECT + "WHERE r.id IN :ids")
+    List<RequestFeedItem> findFeedItemsByIds(@Param("ids") List<Long> ids,
+                                             @Param("descriptionLength") int descriptionLength);
+
+    // Longest closed first, so an interrupted archive run resumes where it stopped
+    @Query("SELECT r.id FROM Request r WHERE r.status IN :statuses AND r.closedAt < :closedBefore " +
+           "ORDER BY r.closedAt, r.id")
+    List<Long> findIdsToArchive(@Param("statuses") Collection<RequestStatus> statuses,
+                                @Param("closedBefore") LocalDateTime closedBefore,
+                                Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Request r SET r.closedAt = :closedAt WHERE r.status IN :statuses AND r.closedAt IS NULL")
+    int stampClosedAt(@Param("statuses") Collection<RequestStatus> statuses,
+                      @Param("closedAt") LocalDateTime closedAt);
+
+    @Modifying
+    @Query("DELETE FROM Request r WHERE r.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 }
@@ -1,9 +1,15 @@
 package com.helpdesk.repository;
 
+import com.helpdesk.dto.VolunteerReview;
 import com.helpdesk.entity.Review;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,9 +18,19 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     
     List<Review> findByVolunteerIdOrderByCreatedAtDesc(Long volunteerId);
     
+    @Query("SELECT new com.helpdesk.dto.VolunteerReview(v.id, v.rating, v.comment, v.createdAt, r.id, r.title) " +
+           "FROM Review v JOIN v.request r WHERE v.volunteer.id = :volunteerId ORDER BY v.createdAt DESC")
+    List<VolunteerReview> findVolunteerReviews(@Param("volunteerId") Long volunteerId);
+    
+    // Listed with each volunteer's name, so the volunteer is fetched in the same query
+    @EntityGraph(attributePaths = "volunteer")
     List<Review> findByRequestIdOrderByCreatedAtDesc(Long requestId);
     
     Optional<Review> findByRequestIdAndVolunteerId(Long requestId, Long volunteerId);
     
     boolean existsByRequestIdAndVolunteerId(Long requestId, Long volunteerId);
+
+    @Modifying
+    @Query("DELETE FROM Review v WHERE v.request.id IN :requestIds")
+    int deleteByRequestIds(@Param("requestIds") Collection<Long> requestIds);
 }
@@ -1,11 +1,17 @@
 package com.helpdesk.repository;
 
+import com.helpdesk.dto.MemberStats;
 import com.helpdesk.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,8 +19,37 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     Optional<User> findByEmail(String email);
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     boolean existsByEmail(String email);
     
-    @Query("SELECT AVG(r.rating) FROM Review r WHERE r.volunteer.id = :volunteerId")
-    Double getAverageRatingForVolunteer(@Param("volunteerId") Long volunteerId);
+    // Folds several ratings in at once; rating is assigned first so it reads the pre-update sum and count on
+    // every database
+    @Modifying
+    @Query("UPDATE User u SET u.rating = ROUND((u.ratingSum + :ratingSum) * 1.0 / (u.ratingCount + :ratingCount), 2), " +
+           "u.ratingSum = u.ratingSum + :ratingSum, u.ratingCount = u.ratingCount + :ratingCount WHERE u.id = :userId")
+    int addRatings(@Param("userId") Long userId, @Param("ratingSum") long ratingSum,
+                   @Param("ratingCount") long ratingCount);
+
+    // Archived reviews still count towards the rating
+    @Modifying
+    @Query("UPDATE User u SET " +
+           "u.ratingSum = (SELECT COALESCE(SUM(r.rating), 0) FROM Review r WHERE r.volunteer = u) + " +
+           "(SELECT COALESCE(SUM(a.rating), 0) FROM ArchivedReview a WHERE a.volunteer = u), " +
+           "u.ratingCount = (SELECT COUNT(r) FROM Review r WHERE r.volunteer = u) + " +
+           "(SELECT COUNT(a) FROM ArchivedReview a WHERE a.volunteer = u)")
+    int recalculateRatingAggregates();
+
+    @Modifying
+    @Query("UPDATE User u SET u.rating = ROUND(u.ratingSum * 1.0 / u.ratingCount, 2) WHERE u.ratingCount > 0")
+    int refreshRatingsFromAggregates();
+
+    // Cached until users, requests or reviews change; counts include archived requests and reviews
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.helpdesk.dto.MemberStats(u.id, u.name, u.email, u.role, u.rating, u.createdAt, " +
+           "(SELECT COUNT(r) FROM Request r WHERE r.user = u) + " +
+           "(SELECT COUNT(ar) FROM ArchivedRequest ar WHERE ar.user = u), " +
+           "(SELECT COUNT(v) FROM Review v WHERE v.volunteer = u) + " +
+           "(SELECT COUNT(av) FROM ArchivedReview av WHERE av.volunteer = u)) " +
+           "FROM User u ORDER BY u.rating DESC, u.id")
+    List<MemberStats> findAllMemberStats();
 }
@@ -0,0 +1,148 @@
+package com.helpdesk.service;
+
+import com.helpdesk.entity.ContentVersion;
+import com.helpdesk.event.RequestChangedEvent;
+import com.helpdesk.repository.ContentVersionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Versions behind the ETags of the read endpoints, so a matching If-None-Match can be answered without
+// querying or serializing anything. They live in the content_versions table, so every node sees the same ones.
+// Writers do not touch that table: a commit only marks its kinds of content as changed, and
+// ContentVersionWorker bumps each changed kind once per flush in its own short transaction, so no write
+// transaction ever waits for a version row. Bumping after the data commits means a version can lag its data by
+// up to the flush interval, but never run ahead of it. An HTTP request reads them once, inside the read-only
+// transaction that also builds its body, so both come from the same database: a lagging replica returns an old
+// version along with its old data. Cached bodies are keyed by the versions too (CacheConfig.VERSIONED_KEY), so
+// no response is labelled with a version newer than its data.
+@Service
+public class ContentVersionService {
+
+    public enum Content { REQUESTS, USERS, REVIEWS }
+
+    private static final String REQUEST_ATTRIBUTE = ContentVersionService.class.getName() + ".versions";
+
+    @Autowired
+    private ContentVersionRepository contentVersionRepository;
+
+    // Kinds changed by commits since the last flush
+    private final Set<Content> pending = ConcurrentHashMap.newKeySet();
+
+    // Weak, because the same version may be sent gzip-compressed or not
+    public String etag(Content... contents) {
+        Map<Content, Long> versions = versions();
+        StringBuilder tag = new StringBuilder("W/\"");
+        for (int i = 0; i < contents.length; i++) {
+            if (i > 0) {
+                tag.append('-');
+            }
+            tag.append(Long.toString(versions.getOrDefault(contents[i], 0L), 36));
+        }
+        return tag.append('"').toString();
+    }
+
+    // Every version, in enum order; part of the cache keys
+    public List<Long> snapshot() {
+        Map<Content, Long> versions = versions();
+        List<Long> snapshot = new ArrayList<>(versions.size());
+        for (Content content : Content.values()) {
+            snapshot.add(versions.getOrDefault(content, 0L));
+        }
+        return snapshot;
+    }
+
+    // Called by the transaction making the change; the version moves once it has committed
+    public void markChanged(Content content) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending.add(content);
+            return;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof VersionBump bump) {
+                bump.contents.add(content);
+                return;
+            }
+        }
+        VersionBump bump = new VersionBump();
+        bump.contents.add(content);
+        TransactionSynchronizationManager.registerSynchronization(bump);
+    }
+
+    // One UPDATE for everything changed since the last flush; kinds whose bump fails stay pending
+    public boolean flushPending() {
+        List<String> names = new ArrayList<>(Content.values().length);
+        Set<Content> taken = EnumSet.noneOf(Content.class);
+        for (Content content : Content.values()) {
+            if (pending.remove(content)) {
+                taken.add(content);
+                names.add(content.name());
+            }
+        }
+        if (names.isEmpty()) {
+            return false;
+        }
+        try {
+            contentVersionRepository.increment(names);
+        } catch (RuntimeException e) {
+            pending.addAll(taken);
+            throw e;
+        }
+        return true;
+    }
+
+    // Published inside the transaction of every request write
+    @EventListener
+    public void onRequestChanged(RequestChangedEvent event) {
+        markChanged(Content.REQUESTS);
+    }
+
+    // Once per HTTP request, so the ETag and the cache key of a response agree
+    private Map<Content, Long> versions() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            @SuppressWarnings("unchecked")
+            Map<Content, Long> versions = (Map<Content, Long>) attributes.getAttribute(REQUEST_ATTRIBUTE,
+                                                                                       RequestAttributes.SCOPE_REQUEST);
+            if (versions != null) {
+                return versions;
+            }
+        }
+
+        Map<Content, Long> versions = new EnumMap<>(Content.class);
+        for (ContentVersion version : contentVersionRepository.findAll()) {
+            try {
+                versions.put(Content.valueOf(version.getContent()), version.getVersion());
+            } catch (IllegalArgumentException e) {
+                // A row for a kind this version of the application no longer has
+            }
+        }
+        if (attributes != null) {
+            attributes.setAttribute(REQUEST_ATTRIBUTE, versions, RequestAttributes.SCOPE_REQUEST);
+        }
+        return versions;
+    }
+
+    // Collects the kinds a transaction changed and hands them over only if it commits
+    private class VersionBump implements TransactionSynchronization {
+
+        private final Set<Content> contents = EnumSet.noneOf(Content.class);
+
+        @Override
+        public void afterCommit() {
+            pending.addAll(contents);
+        }
+    }
+}
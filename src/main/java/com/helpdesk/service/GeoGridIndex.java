@@ -0,0 +1,138 @@
+package com.helpdesk.service;
+
+import com.helpdesk.entity.RequestCategory;
+import com.helpdesk.entity.RequestUrgency;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+// Points bucketed into cells of 0.01 x 0.01 degrees (about 1.1 km north-south). A radius search only visits the
+// cells overlapping the circle's bounding box and checks the exact great-circle distance of the points in them,
+// so its cost follows the number of requests nearby rather than the number indexed.
+public class GeoGridIndex {
+
+    public record Entry(Long id, double latitude, double longitude, RequestCategory category,
+                        RequestUrgency urgency, LocalDateTime createdAt) {
+    }
+
+    public record Match(Entry entry, double distanceKm) {
+    }
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final double CELL_DEGREES = 0.01;
+    private static final int LONGITUDE_CELLS = (int) Math.round(360 / CELL_DEGREES);
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    // Bounding boxes closer to a pole than this cover every longitude
+    private static final double MAX_BOX_LATITUDE = 89.0;
+
+    private final Map<Long, Set<Entry>> cells = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    public synchronized void put(Entry entry) {
+        remove(entry.id());
+        entries.put(entry.id(), entry);
+        cells.computeIfAbsent(cellOf(entry.latitude(), entry.longitude()), cell -> ConcurrentHashMap.newKeySet())
+             .add(entry);
+    }
+
+    public synchronized void remove(Long id) {
+        Entry entry = entries.remove(id);
+        if (entry != null) {
+            long cell = cellOf(entry.latitude(), entry.longitude());
+            Set<Entry> cellEntries = cells.get(cell);
+            cellEntries.remove(entry);
+            if (cellEntries.isEmpty()) {
+                cells.remove(cell);
+            }
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public Set<Long> ids() {
+        return Set.copyOf(entries.keySet());
+    }
+
+    // Every entry within radiusKm of the point that passes the filter, in no particular order
+    public List<Match> within(double latitude, double longitude, double radiusKm, Predicate<Entry> filter) {
+        List<Match> matches = new ArrayList<>();
+        forEachWithin(latitude, longitude, radiusKm, filter, matches::add);
+        return matches;
+    }
+
+    // Hands each match to consumer as it is found, for callers that keep only some of them
+    public void forEachWithin(double latitude, double longitude, double radiusKm, Predicate<Entry> filter,
+                              Consumer<Match> consumer) {
+        double latitudeSpan = radiusKm / KM_PER_DEGREE;
+        int minLatitudeCell = latitudeCell(Math.max(-90, latitude - latitudeSpan));
+        int maxLatitudeCell = latitudeCell(Math.min(90, latitude + latitudeSpan));
+
+        // A degree of longitude is shortest on the box edge nearest the pole, which makes that edge the widest
+        double edgeLatitude = Math.abs(latitude) + latitudeSpan;
+        int minLongitudeCell;
+        int maxLongitudeCell;
+        if (edgeLatitude >= MAX_BOX_LATITUDE) {
+            minLongitudeCell = 0;
+            maxLongitudeCell = LONGITUDE_CELLS - 1;
+        } else {
+            double longitudeSpan = latitudeSpan / Math.cos(Math.toRadians(edgeLatitude));
+            minLongitudeCell = (int) Math.floor((longitude - longitudeSpan) / CELL_DEGREES);
+            maxLongitudeCell = (int) Math.floor((longitude + longitudeSpan) / CELL_DEGREES);
+            if (maxLongitudeCell - minLongitudeCell + 1 >= LONGITUDE_CELLS) {
+                minLongitudeCell = 0;
+                maxLongitudeCell = LONGITUDE_CELLS - 1;
+            }
+        }
+
+        for (int latitudeCell = minLatitudeCell; latitudeCell <= maxLatitudeCell; latitudeCell++) {
+            for (int longitudeCell = minLongitudeCell; longitudeCell <= maxLongitudeCell; longitudeCell++) {
+                // Boxes crossing the antimeridian continue on the other side
+                Set<Entry> cellEntries = cells.get(cellKey(latitudeCell, Math.floorMod(longitudeCell, LONGITUDE_CELLS)));
+                if (cellEntries == null) {
+                    continue;
+                }
+                for (Entry entry : cellEntries) {
+                    if (!filter.test(entry)) {
+                        continue;
+                    }
+                    double distance = distanceKm(latitude, longitude, entry.latitude(), entry.longitude());
+                    if (distance <= radiusKm) {
+                        consumer.accept(new Match(entry, distance));
+                    }
+                }
+            }
+        }
+    }
+
+    // Haversine great-circle distance on a spherical earth
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double deltaLatitude = Math.toRadians(latitude2 - latitude1);
+        double deltaLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(deltaLatitude / 2) * Math.sin(deltaLatitude / 2)
+                   + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                     * Math.sin(deltaLongitude / 2) * Math.sin(deltaLongitude / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private static long cellOf(double latitude, double longitude) {
+        return cellKey(latitudeCell(latitude),
+                       Math.floorMod((int) Math.floor(longitude / CELL_DEGREES), LONGITUDE_CELLS));
+    }
+
+    private static int latitudeCell(double latitude) {
+        return (int) Math.floor(latitude / CELL_DEGREES);
+    }
+
+    private static long cellKey(int latitudeCell, int longitudeCell) {
+        return ((long) latitudeCell << 32) | (longitudeCell & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,145 @@
+package com.helpdesk.service;
+
+import com.helpdesk.dto.RequestFeedItem;
+import com.helpdesk.entity.RequestCategory;
+import com.helpdesk.entity.RequestStatus;
+import com.helpdesk.entity.RequestUrgency;
+import com.helpdesk.event.RequestChangedEvent;
+import com.helpdesk.repository.RequestRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+// Keeps the location of every OPEN request that has one in a GeoGridIndex, so nearby searches never scan the
+// requests table. The grid only answers which requests are in range; the rows themselves are loaded by id.
+// Events only report this node's commits, so another node's changes reach the grid with the next periodic rebuild.
+@Service
+public class NearbyRequestService {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+    // Only the location columns are needed while loading
+    private static final int LOAD_DESCRIPTION_LENGTH = 1;
+
+    private static final Comparator<GeoGridIndex.Match> NEWEST_FIRST =
+        Comparator.comparing((GeoGridIndex.Match match) -> match.entry().createdAt())
+                  .thenComparing(match -> match.entry().id())
+                  .reversed();
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    private final GeoGridIndex index = new GeoGridIndex();
+
+    // Requests changed by an event while a rebuild runs, which the rebuild leaves as the event set them; guarded
+    // by this, null between rebuilds
+    private Set<Long> changedDuringRebuild;
+
+    // Loads every open request with a location, newest first in keyset pages, and drops entries that are no longer
+    // open; at startup and then periodically. Read-write so it is read from the primary.
+    @Transactional
+    public int rebuildIndex() {
+        synchronized (this) {
+            changedDuringRebuild = new HashSet<>();
+        }
+        try {
+            Set<Long> open = new HashSet<>();
+            List<RequestFeedItem> page = requestRepository.findFirstPage(RequestStatus.OPEN, null, null,
+                LOAD_DESCRIPTION_LENGTH, PageRequest.of(0, LOAD_BATCH_SIZE));
+            while (!page.isEmpty()) {
+                synchronized (this) {
+                    for (RequestFeedItem item : page) {
+                        open.add(item.id());
+                        if (!changedDuringRebuild.contains(item.id())) {
+                            index(item);
+                        }
+                    }
+                }
+                RequestFeedItem last = page.get(page.size() - 1);
+                page = requestRepository.findPageBefore(RequestStatus.OPEN, null, null, last.createdAt(), last.id(),
+                    LOAD_DESCRIPTION_LENGTH, PageRequest.of(0, LOAD_BATCH_SIZE));
+            }
+            synchronized (this) {
+                for (Long id : index.ids()) {
+                    if (!open.contains(id) && !changedDuringRebuild.contains(id)) {
+                        index.remove(id);
+                    }
+                }
+            }
+            return index.size();
+        } finally {
+            synchronized (this) {
+                changedDuringRebuild = null;
+            }
+        }
+    }
+
+    public int indexedCount() {
+        return index.size();
+    }
+
+    // One page of open requests within radiusKm, newest first, continuing after (beforeCreatedAt, beforeId).
+    // Only the newest limit matches are kept while the grid is searched, in a heap whose head is the oldest kept.
+    public List<GeoGridIndex.Match> findNearby(double latitude, double longitude, double radiusKm,
+                                               RequestCategory category, RequestUrgency urgency,
+                                               LocalDateTime beforeCreatedAt, Long beforeId, int limit) {
+        PriorityQueue<GeoGridIndex.Match> newest = new PriorityQueue<>(limit + 1, NEWEST_FIRST.reversed());
+        index.forEachWithin(latitude, longitude, radiusKm, entry ->
+            (category == null || entry.category() == category)
+            && (urgency == null || entry.urgency() == urgency)
+            && (beforeCreatedAt == null || beforeId == null
+                || entry.createdAt().isBefore(beforeCreatedAt)
+                || (entry.createdAt().isEqual(beforeCreatedAt) && entry.id() < beforeId)),
+            match -> {
+                if (newest.size() < limit) {
+                    newest.add(match);
+                } else if (NEWEST_FIRST.compare(match, newest.peek()) < 0) {
+                    newest.poll();
+                    newest.add(match);
+                }
+            });
+        List<GeoGridIndex.Match> page = new ArrayList<>(newest);
+        page.sort(NEWEST_FIRST);
+        return page;
+    }
+
+    // Drops a request found to be no longer open, for changes this node has not seen an event for
+    public void evict(Long requestId) {
+        index.remove(requestId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRequestChanged(RequestChangedEvent event) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(event.requestId());
+        }
+        switch (event.type()) {
+            case CREATED, UPDATED -> {
+                if (event.request().status() == RequestStatus.OPEN) {
+                    index(event.request());
+                } else {
+                    index.remove(event.requestId());
+                }
+            }
+            default -> index.remove(event.requestId());
+        }
+    }
+
+    private void index(RequestFeedItem item) {
+        if (item.latitude() == null || item.longitude() == null) {
+            index.remove(item.id());
+            return;
+        }
+        index.put(new GeoGridIndex.Entry(item.id(), item.latitude(), item.longitude(), item.category(),
+                                         item.urgency(), item.createdAt()));
+    }
+}
@@ -0,0 +1,134 @@
+package com.helpdesk.service;
+
+import com.helpdesk.entity.PendingRating;
+import com.helpdesk.repository.PendingRatingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Review ratings reach users.rating asynchronously. createReview only appends to the rating_outbox table in its
+// own transaction; RatingUpdateWorker then folds all pending entries of a volunteer into one UPDATE. Entries are
+// deleted in the transaction that applies them, so a crash neither loses a rating nor applies it twice.
+@Service
+public class RatingUpdateService {
+
+    private static final int FLUSH_BATCH_SIZE = 1000;
+
+    @Autowired
+    private PendingRatingRepository pendingRatingRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Value("${helpdesk.ratings.max-staleness-ms:5000}")
+    private long maxStalenessMillis;
+
+    // Set after a review commits; starts set so entries left by a previous run are applied at startup
+    private final AtomicBoolean pending = new AtomicBoolean(true);
+
+    private final AtomicLong appliedRatings = new AtomicLong();
+    private final AtomicLong userUpdates = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    private volatile long lastLagMillis;
+    private volatile long lastFlushAtMillis;
+
+    public void recordRating(Long volunteerId, int rating) {
+        pendingRatingRepository.save(new PendingRating(volunteerId, rating));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.set(true);
+                }
+            });
+        } else {
+            pending.set(true);
+        }
+    }
+
+    public boolean takePending() {
+        return pending.getAndSet(false);
+    }
+
+    // Applies up to FLUSH_BATCH_SIZE of the oldest entries and returns how many; rows another node is
+    // flushing are skipped rather than waited for
+    @Transactional
+    public int flushBatch() {
+        List<PendingRating> batch = pendingRatingRepository.findBatchToApply(PageRequest.of(0, FLUSH_BATCH_SIZE));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        long now = System.currentTimeMillis();
+        long lag = 0;
+        // volunteer id -> {sum, count}
+        Map<Long, long[]> totals = new HashMap<>();
+        for (PendingRating entry : batch) {
+            long[] total = totals.computeIfAbsent(entry.getVolunteerId(), id -> new long[2]);
+            total[0] += entry.getRating();
+            total[1]++;
+            lag = Math.max(lag, now - entry.getRecordedAtMillis());
+        }
+
+        totals.forEach((volunteerId, total) -> userService.applyRatings(volunteerId, total[0], total[1]));
+        pendingRatingRepository.deleteAllInBatch(batch);
+
+        long batchLag = lag;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                appliedRatings.addAndGet(batch.size());
+                userUpdates.addAndGet(totals.size());
+                lastLagMillis = batchLag;
+                maxLagMillis.accumulateAndGet(batchLag, Math::max);
+                lastFlushAtMillis = System.currentTimeMillis();
+            }
+        });
+        return batch.size();
+    }
+
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+
+    public long getMaxStalenessMillis() {
+        return maxStalenessMillis;
+    }
+
+    // Age of the oldest rating not yet applied, on any node; 0 when there is none. Read-write so it is read
+    // from the primary: a lagging replica would report entries already applied.
+    @Transactional
+    public long getOldestPendingAgeMillis() {
+        Long oldest = pendingRatingRepository.findOldestRecordedAtMillis();
+        return oldest == null ? 0 : Math.max(0, System.currentTimeMillis() - oldest);
+    }
+
+    @Transactional
+    public Map<String, Object> getStatus() {
+        long oldestPendingAge = getOldestPendingAgeMillis();
+
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("pending", pendingRatingRepository.count());
+        status.put("oldestPendingAgeMs", oldestPendingAge);
+        status.put("maxStalenessMs", maxStalenessMillis);
+        status.put("stale", oldestPendingAge > maxStalenessMillis);
+        status.put("appliedRatings", appliedRatings.get());
+        status.put("userUpdates", userUpdates.get());
+        status.put("lastLagMs", lastLagMillis);
+        status.put("maxLagMs", maxLagMillis.get());
+        status.put("lastFlushAt", lastFlushAtMillis == 0 ? null : lastFlushAtMillis);
+        return status;
+    }
+}
@@ -0,0 +1,262 @@
+package com.helpdesk.service;
+
+import com.helpdesk.dto.CategoryAffinity;
+import com.helpdesk.dto.RecommendedRequest;
+import com.helpdesk.dto.RequestFeedItem;
+import com.helpdesk.dto.VolunteerRecommendations;
+import com.helpdesk.entity.AssignmentStatus;
+import com.helpdesk.entity.RequestCategory;
+import com.helpdesk.entity.RequestStatus;
+import com.helpdesk.entity.RequestUrgency;
+import com.helpdesk.event.RequestChangedEvent;
+import com.helpdesk.repository.ArchivedAssignmentRepository;
+import com.helpdesk.repository.AssignmentRepository;
+import com.helpdesk.repository.RequestRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Ranks open requests for a volunteer from an in-memory index of all OPEN requests, partitioned by category and
+// urgency and ordered oldest first. Within a partition the score only depends on age, so the best request of each
+// partition is its first one and the top K come from merging the partitions instead of scanning them.
+// Events only report this node's commits, so another node's changes reach the index with the next periodic rebuild.
+@Service
+public class RecommendationService {
+
+    public static final int DESCRIPTION_PREVIEW_LENGTH = 200;
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final List<AssignmentStatus> ACTIVE_STATUSES =
+        List.of(AssignmentStatus.ACCEPTED, AssignmentStatus.IN_PROGRESS);
+
+    // score = 0.5 * category affinity + 0.3 * urgency (damped by the volunteer's load) + 0.2 * waiting time
+    private static final double AFFINITY_WEIGHT = 0.5;
+    private static final double URGENCY_WEIGHT = 0.3;
+    private static final double AGE_WEIGHT = 0.2;
+    // Experience counts fully from this many requests in a category; waiting time from this many hours
+    private static final int FULL_AFFINITY_ASSIGNMENTS = 10;
+    private static final double FULL_AGE_HOURS = 72.0;
+    // Experience without reviews counts as a 4-star average
+    private static final double UNRATED_FACTOR = 0.8;
+
+    private static final Comparator<RequestFeedItem> OLDEST_FIRST =
+        Comparator.comparing(RequestFeedItem::createdAt).thenComparing(RequestFeedItem::id);
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private ArchivedAssignmentRepository archivedAssignmentRepository;
+
+    private final Map<RequestCategory, Map<RequestUrgency, NavigableSet<RequestFeedItem>>> partitions =
+        new EnumMap<>(RequestCategory.class);
+    private final Map<Long, RequestFeedItem> indexedRequests = new ConcurrentHashMap<>();
+    private final Map<RequestCategory, AtomicInteger> openCounts = new EnumMap<>(RequestCategory.class);
+
+    // Requests changed by an event while a rebuild runs, which the rebuild leaves as the event set them; guarded
+    // by this, null between rebuilds
+    private Set<Long> changedDuringRebuild;
+
+    public RecommendationService() {
+        for (RequestCategory category : RequestCategory.values()) {
+            Map<RequestUrgency, NavigableSet<RequestFeedItem>> byUrgency = new EnumMap<>(RequestUrgency.class);
+            for (RequestUrgency urgency : RequestUrgency.values()) {
+                byUrgency.put(urgency, new ConcurrentSkipListSet<>(OLDEST_FIRST));
+            }
+            partitions.put(category, byUrgency);
+            openCounts.put(category, new AtomicInteger());
+        }
+    }
+
+    // Loads every open request, newest first in keyset pages, and drops entries that are no longer open; at
+    // startup and then periodically. Read-write so it is read from the primary.
+    @Transactional
+    public int rebuildIndex() {
+        synchronized (this) {
+            changedDuringRebuild = new HashSet<>();
+        }
+        try {
+            Set<Long> open = new HashSet<>();
+            List<RequestFeedItem> page = requestRepository.findFirstPage(RequestStatus.OPEN, null, null,
+                DESCRIPTION_PREVIEW_LENGTH + 1, PageRequest.of(0, LOAD_BATCH_SIZE));
+            while (!page.isEmpty()) {
+                synchronized (this) {
+                    for (RequestFeedItem item : page) {
+                        open.add(item.id());
+                        if (!changedDuringRebuild.contains(item.id())) {
+                            index(item);
+                        }
+                    }
+                }
+                RequestFeedItem last = page.get(page.size() - 1);
+                page = requestRepository.findPageBefore(RequestStatus.OPEN, null, null, last.createdAt(), last.id(),
+                    DESCRIPTION_PREVIEW_LENGTH + 1, PageRequest.of(0, LOAD_BATCH_SIZE));
+            }
+            synchronized (this) {
+                for (Long id : List.copyOf(indexedRequests.keySet())) {
+                    if (!open.contains(id) && !changedDuringRebuild.contains(id)) {
+                        remove(id);
+                    }
+                }
+            }
+            return open.size();
+        } finally {
+            synchronized (this) {
+                changedDuringRebuild = null;
+            }
+        }
+    }
+
+    public int indexedCount() {
+        return indexedRequests.size();
+    }
+
+    // Constant time, unlike sizing the skip lists; read by the open-requests gauge on every scrape
+    public int openRequestCount(RequestCategory category) {
+        return openCounts.get(category).get();
+    }
+
+    @Transactional(readOnly = true)
+    public VolunteerRecommendations recommend(Long volunteerId, int limit) {
+        // Experience counts whether or not the requests have been archived since
+        Map<RequestCategory, CategoryAffinity> history = new EnumMap<>(RequestCategory.class);
+        for (CategoryAffinity hot : assignmentRepository.findCategoryAffinities(volunteerId)) {
+            history.merge(hot.category(), hot, CategoryAffinity::plus);
+        }
+        for (CategoryAffinity archived : archivedAssignmentRepository.findCategoryAffinities(volunteerId)) {
+            history.merge(archived.category(), archived, CategoryAffinity::plus);
+        }
+        double[] affinity = new double[RequestCategory.values().length];
+        for (CategoryAffinity category : history.values()) {
+            affinity[category.category().ordinal()] = affinityScore(category);
+        }
+        long activeAssignments = assignmentRepository.countByVolunteerIdAndStatusIn(volunteerId, ACTIVE_STATUSES);
+
+        // A busy volunteer is steered less towards urgent requests they may not get to in time
+        double urgencyDamping = 1.0 / (1 + activeAssignments);
+        LocalDateTime now = LocalDateTime.now();
+
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(
+            Comparator.comparingDouble(Candidate::score).reversed());
+        for (Map.Entry<RequestCategory, Map<RequestUrgency, NavigableSet<RequestFeedItem>>> byCategory
+                : partitions.entrySet()) {
+            double categoryScore = AFFINITY_WEIGHT * affinity[byCategory.getKey().ordinal()];
+            for (Map.Entry<RequestUrgency, NavigableSet<RequestFeedItem>> partition
+                    : byCategory.getValue().entrySet()) {
+                double fixedScore = categoryScore + URGENCY_WEIGHT * urgencyDamping * urgencyScore(partition.getKey());
+                Candidate first = next(partition.getValue().iterator(), fixedScore, volunteerId, now);
+                if (first != null) {
+                    candidates.add(first);
+                }
+            }
+        }
+
+        List<RecommendedRequest> recommended = new ArrayList<>(limit);
+        while (recommended.size() < limit && !candidates.isEmpty()) {
+            Candidate best = candidates.poll();
+            recommended.add(RecommendedRequest.of(best.request(), Math.round(best.score() * 1000) / 1000.0,
+                                                  DESCRIPTION_PREVIEW_LENGTH));
+            Candidate following = next(best.remaining(), best.fixedScore(), volunteerId, now);
+            if (following != null) {
+                candidates.add(following);
+            }
+        }
+
+        return new VolunteerRecommendations(volunteerId, activeAssignments, recommended);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRequestChanged(RequestChangedEvent event) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(event.requestId());
+        }
+        switch (event.type()) {
+            case CREATED, UPDATED -> {
+                remove(event.requestId());
+                if (event.request().status() == RequestStatus.OPEN) {
+                    index(event.request());
+                }
+            }
+            default -> remove(event.requestId());
+        }
+    }
+
+    private synchronized void index(RequestFeedItem item) {
+        // Only a preview of the description is kept, which also tells whether it was cut off
+        if (item.description().length() > DESCRIPTION_PREVIEW_LENGTH + 1) {
+            item = new RequestFeedItem(item.id(), item.title(),
+                item.description().substring(0, DESCRIPTION_PREVIEW_LENGTH + 1), item.category(), item.urgency(),
+                item.status(), item.createdAt(), item.userId(), item.userName(), item.userRating(),
+                item.latitude(), item.longitude());
+        }
+        RequestFeedItem previous = indexedRequests.put(item.id(), item);
+        if (previous != null) {
+            partitions.get(previous.category()).get(previous.urgency()).remove(previous);
+            openCounts.get(previous.category()).decrementAndGet();
+        }
+        partitions.get(item.category()).get(item.urgency()).add(item);
+        openCounts.get(item.category()).incrementAndGet();
+    }
+
+    private synchronized void remove(Long requestId) {
+        RequestFeedItem item = indexedRequests.remove(requestId);
+        if (item != null) {
+            partitions.get(item.category()).get(item.urgency()).remove(item);
+            openCounts.get(item.category()).decrementAndGet();
+        }
+    }
+
+    // Next request in the partition the volunteer could accept (not their own), with its score
+    private static Candidate next(Iterator<RequestFeedItem> remaining, double fixedScore, Long volunteerId,
+                                  LocalDateTime now) {
+        while (remaining.hasNext()) {
+            RequestFeedItem item = remaining.next();
+            if (!item.userId().equals(volunteerId)) {
+                double score = fixedScore + AGE_WEIGHT * ageScore(item.createdAt(), now);
+                return new Candidate(score, fixedScore, item, remaining);
+            }
+        }
+        return null;
+    }
+
+    private static double affinityScore(CategoryAffinity history) {
+        double experience = Math.min(1.0, Math.log1p(history.assignmentCount())
+                                          / Math.log1p(FULL_AFFINITY_ASSIGNMENTS));
+        double ratingFactor = history.averageRating() == null ? UNRATED_FACTOR : history.averageRating() / 5.0;
+        return experience * ratingFactor;
+    }
+
+    private static double urgencyScore(RequestUrgency urgency) {
+        return (urgency.ordinal() + 1) / (double) RequestUrgency.values().length;
+    }
+
+    private static double ageScore(LocalDateTime createdAt, LocalDateTime now) {
+        double hours = Duration.between(createdAt, now).toMinutes() / 60.0;
+        return Math.max(0.0, Math.min(1.0, hours / FULL_AGE_HOURS));
+    }
+
+    private record Candidate(double score, double fixedScore, RequestFeedItem request,
+                             Iterator<RequestFeedItem> remaining) {
+    }
+}
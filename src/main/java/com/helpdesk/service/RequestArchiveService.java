@@ -0,0 +1,72 @@
+package com.helpdesk.service;
+
+import com.helpdesk.entity.RequestStatus;
+import com.helpdesk.repository.ArchivedAssignmentRepository;
+import com.helpdesk.repository.ArchivedRequestRepository;
+import com.helpdesk.repository.ArchivedReviewRepository;
+import com.helpdesk.repository.AssignmentRepository;
+import com.helpdesk.repository.RequestRepository;
+import com.helpdesk.repository.ReviewRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Moves completed and cancelled requests, with their assignments and reviews, from the hot tables into the
+// *_archive tables. The feed, search and all writes only touch the hot tables, which so stay close to the
+// requests still in play; history reads in RequestService, ReviewService and the member counts cover both.
+@Service
+public class RequestArchiveService {
+
+    private static final List<RequestStatus> TERMINAL_STATUSES =
+        List.of(RequestStatus.COMPLETED, RequestStatus.CANCELLED);
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ArchivedRequestRepository archivedRequestRepository;
+
+    @Autowired
+    private ArchivedAssignmentRepository archivedAssignmentRepository;
+
+    @Autowired
+    private ArchivedReviewRepository archivedReviewRepository;
+
+    // Requests closed before closed_at existed have none; they count as closed now, so they are archived
+    // after-days from the upgrade rather than by their creation date
+    @Transactional
+    public int stampLegacyClosedRequests() {
+        return requestRepository.stampClosedAt(TERMINAL_STATUSES, LocalDateTime.now());
+    }
+
+    // Copies then deletes one batch in a single transaction, so a request is always in exactly one of the tables.
+    // Nothing visible changes (reads cover both), so no change events or version bumps are needed.
+    @Transactional
+    public int archiveBatch(LocalDateTime closedBefore, int batchSize) {
+        List<Long> requestIds = requestRepository.findIdsToArchive(TERMINAL_STATUSES, closedBefore,
+                                                                   PageRequest.of(0, batchSize));
+        if (requestIds.isEmpty()) {
+            return 0;
+        }
+
+        archivedRequestRepository.copyFromRequests(requestIds);
+        archivedAssignmentRepository.copyFromAssignments(requestIds);
+        archivedReviewRepository.copyFromReviews(requestIds);
+
+        // Children first, for the foreign keys
+        reviewRepository.deleteByRequestIds(requestIds);
+        assignmentRepository.deleteByRequestIds(requestIds);
+        requestRepository.deleteByIds(requestIds);
+        return requestIds.size();
+    }
+}
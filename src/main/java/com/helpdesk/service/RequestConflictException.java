@@ -0,0 +1,9 @@
+package com.helpdesk.service;
+
+// Thrown when another caller changed a request's status first
+public class RequestConflictException extends RuntimeException {
+
+    public RequestConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,281 @@
+package com.helpdesk.service;
+
+import com.helpdesk.entity.RequestCategory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Append-only journal of request lifecycle events in memory-mapped segment files. Records have a fixed size:
+//   crc32 (int) | type | category | rating | unused (bytes) | sequence | timestamp millis | request id | actor id (longs)
+// with the CRC covering everything after it. A segment is preallocated and named after the sequence of its first
+// record, so appending is a copy into mapped memory. Appended records become durable, and visible to replay and
+// read, with the next flush, which forces every record appended so far with one msync.
+public class RequestJournal implements AutoCloseable {
+
+    public static final int RECORD_SIZE = 40;
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final RequestCategory[] CATEGORIES = RequestCategory.values();
+
+    // Stored as ordinal + 1, with 0 marking unwritten space: only ever add constants at the end
+    public enum Type {
+        CREATED,
+        UPDATED,
+        ACCEPTED,
+        COMPLETED,
+        CANCELLED,
+        DELETED,
+        REVIEWED
+    }
+
+    // actorId, category and rating are null when not known or not applicable to the type
+    public record Entry(long sequence, Type type, long requestId, Long actorId, long timestampMillis,
+                        RequestCategory category, Integer rating) {
+    }
+
+    private static final class Segment {
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+        private int position;         // guarded by appendLock
+        private int flushedPosition;  // guarded by flushLock
+
+        private Segment(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+            this.capacity = buffer.capacity() / RECORD_SIZE * RECORD_SIZE;
+        }
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final Object appendLock = new Object();
+    private final Object flushLock = new Object();
+    private final List<Long> segmentStarts = new CopyOnWriteArrayList<>();
+
+    private Segment current;        // guarded by appendLock
+    private long nextSequence;      // guarded by appendLock
+    private volatile long durableSequence;
+
+    public RequestJournal(Path directory, int segmentSize) throws IOException {
+        if (segmentSize < RECORD_SIZE) {
+            throw new IllegalArgumentException("Segment size must be at least " + RECORD_SIZE + " bytes");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize / RECORD_SIZE * RECORD_SIZE;
+
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                 .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                 .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                 .sorted()
+                 .forEach(segmentStarts::add);
+        }
+
+        if (segmentStarts.isEmpty()) {
+            current = createSegment(1);
+            nextSequence = 1;
+        } else {
+            // Continue after the last intact record; a torn write at the tail is overwritten
+            long firstSequence = segmentStarts.get(segmentStarts.size() - 1);
+            current = new Segment(map(firstSequence, FileChannel.MapMode.READ_WRITE));
+            nextSequence = firstSequence;
+            while (current.position < current.capacity && read(current.buffer, current.position, nextSequence) != null) {
+                current.position += RECORD_SIZE;
+                nextSequence++;
+            }
+            current.flushedPosition = current.position;
+        }
+        durableSequence = nextSequence - 1;
+    }
+
+    public long append(Type type, long requestId, Long actorId, RequestCategory category, Integer rating)
+            throws IOException {
+        Entry entry;
+        synchronized (appendLock) {
+            if (current.position == current.capacity) {
+                current.buffer.force();
+                current = createSegment(nextSequence);
+            }
+            entry = new Entry(nextSequence, type, requestId, actorId, System.currentTimeMillis(), category, rating);
+            current.buffer.put(current.position, encode(entry));
+            current.position += RECORD_SIZE;
+            nextSequence++;
+        }
+        return entry.sequence();
+    }
+
+    // Sequence of the last record known to be on disk; records are numbered from 1
+    public long lastSequence() {
+        return durableSequence;
+    }
+
+    public int segmentCount() {
+        return segmentStarts.size();
+    }
+
+    // Feeds every durable record from fromSequence on, in order, to consumer and returns how many it fed.
+    // Reads the segment files directly, so it can run at any time without holding up appends.
+    public long replay(long fromSequence, Consumer<Entry> consumer) throws IOException {
+        long lastSequence = durableSequence;
+        long replayed = 0;
+        List<Long> starts = List.copyOf(segmentStarts);
+        for (int i = 0; i < starts.size(); i++) {
+            long firstSequence = starts.get(i);
+            if (firstSequence > lastSequence) {
+                break;
+            }
+            if (i + 1 < starts.size() && starts.get(i + 1) <= fromSequence) {
+                continue;
+            }
+
+            MappedByteBuffer buffer = map(firstSequence, FileChannel.MapMode.READ_ONLY);
+            long sequence = firstSequence;
+            for (int position = 0; position + RECORD_SIZE <= buffer.capacity() && sequence <= lastSequence;
+                 position += RECORD_SIZE, sequence++) {
+                Entry entry = read(buffer, position, sequence);
+                if (entry == null) {
+                    break;
+                }
+                if (sequence >= fromSequence) {
+                    consumer.accept(entry);
+                    replayed++;
+                }
+            }
+        }
+        return replayed;
+    }
+
+    // The durable records with the given sequences, in the order given; each segment involved is mapped once
+    public List<Entry> read(long[] sequences) throws IOException {
+        long lastSequence = durableSequence;
+        List<Long> starts = List.copyOf(segmentStarts);
+        Map<Long, MappedByteBuffer> buffers = new HashMap<>();
+        List<Entry> entries = new ArrayList<>(sequences.length);
+        for (long sequence : sequences) {
+            if (sequence < 1 || sequence > lastSequence) {
+                continue;
+            }
+            int index = Collections.binarySearch(starts, sequence);
+            long firstSequence = starts.get(index >= 0 ? index : -index - 2);
+            MappedByteBuffer buffer = buffers.get(firstSequence);
+            if (buffer == null) {
+                buffer = map(firstSequence, FileChannel.MapMode.READ_ONLY);
+                buffers.put(firstSequence, buffer);
+            }
+            Entry entry = read(buffer, (int) (sequence - firstSequence) * RECORD_SIZE, sequence);
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    // Forces every record appended so far to disk and returns the sequence of the last one
+    public long flush() {
+        synchronized (flushLock) {
+            Segment segment;
+            int end;
+            long upTo;
+            synchronized (appendLock) {
+                segment = current;
+                end = segment.position;
+                upTo = nextSequence - 1;
+            }
+            // Earlier segments were forced completely when the journal moved on from them
+            segment.buffer.force(segment.flushedPosition, end - segment.flushedPosition);
+            segment.flushedPosition = end;
+            durableSequence = upTo;
+            return upTo;
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (appendLock) {
+            current.buffer.force();
+        }
+    }
+
+    private Segment createSegment(long firstSequence) throws IOException {
+        Path file = segmentFile(firstSequence);
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                                                    StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            // Persists the new file's length, so its records are not lost with the directory entry
+            channel.force(true);
+        }
+        segmentStarts.add(firstSequence);
+        return new Segment(buffer);
+    }
+
+    private MappedByteBuffer map(long firstSequence, FileChannel.MapMode mode) throws IOException {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+            ? new StandardOpenOption[]{StandardOpenOption.READ}
+            : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE};
+        try (FileChannel channel = FileChannel.open(segmentFile(firstSequence), options)) {
+            return channel.map(mode, 0, channel.size());
+        }
+    }
+
+    private Path segmentFile(long firstSequence) {
+        return directory.resolve(String.format("%020d%s", firstSequence, SEGMENT_SUFFIX));
+    }
+
+    private static byte[] encode(Entry entry) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        record.putInt(0)
+              .put((byte) (entry.type().ordinal() + 1))
+              .put((byte) (entry.category() == null ? 0 : entry.category().ordinal() + 1))
+              .put((byte) (entry.rating() == null ? 0 : entry.rating()))
+              .put((byte) 0)
+              .putLong(entry.sequence())
+              .putLong(entry.timestampMillis())
+              .putLong(entry.requestId())
+              .putLong(entry.actorId() == null ? 0 : entry.actorId());
+        record.putInt(0, checksum(record.array()));
+        return record.array();
+    }
+
+    // Null for unwritten space, a torn write, or a stale record left beyond the end by an earlier crash
+    private static Entry read(ByteBuffer buffer, int position, long expectedSequence) {
+        byte[] bytes = new byte[RECORD_SIZE];
+        buffer.get(position, bytes);
+        ByteBuffer record = ByteBuffer.wrap(bytes);
+
+        int typeCode = record.get(4);
+        if (typeCode == 0 || record.getInt(0) != checksum(bytes) || record.getLong(8) != expectedSequence) {
+            return null;
+        }
+        int categoryCode = record.get(5);
+        int rating = record.get(6);
+        long actorId = record.getLong(32);
+        return new Entry(expectedSequence,
+                         Type.values()[typeCode - 1],
+                         record.getLong(24),
+                         actorId == 0 ? null : actorId,
+                         record.getLong(16),
+                         categoryCode == 0 ? null : CATEGORIES[categoryCode - 1],
+                         rating == 0 ? null : rating);
+    }
+
+    private static int checksum(byte[] record) {
+        CRC32 crc = new CRC32();
+        crc.update(record, 4, RECORD_SIZE - 4);
+        return (int) crc.getValue();
+    }
+}
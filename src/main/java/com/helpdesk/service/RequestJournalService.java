@@ -0,0 +1,259 @@
+package com.helpdesk.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.helpdesk.entity.RequestCategory;
+import com.helpdesk.event.RequestChangedEvent;
+import com.helpdesk.event.ReviewCreatedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Records every committed request change and review in the RequestJournal, as an audit trail with who and when.
+// The counters and the per-request index here are projections of the journal: rebuilt by replaying it at startup,
+// then kept up to date as records are appended. New projections can be backfilled the same way through replay,
+// without reading MySQL.
+//
+// Records are appended by one writer thread, never by the request threads: the listeners queue them after commit,
+// and the writer appends whatever has queued up and makes it durable with one msync, then counts and indexes it.
+// The journal is local to this node: it holds only the changes this node committed, so with several nodes each
+// one's history and stats cover its own writes.
+@Service
+public class RequestJournalService {
+
+    @Autowired(required = false)
+    private RequestJournal journal;
+
+    private final Map<RequestJournal.Type, AtomicLong> eventCounts = new EnumMap<>(RequestJournal.Type.class);
+    private final Map<RequestCategory, AtomicLong> createdByCategory = new EnumMap<>(RequestCategory.class);
+    private final AtomicLong ratingSum = new AtomicLong();
+
+    // Records committed but not yet appended. A full queue holds up the committing thread rather than losing
+    // records.
+    private static final int MAX_QUEUED_RECORDS = 10000;
+
+    private record Pending(RequestJournal.Type type, Long requestId, Long actorId, RequestCategory category,
+                           Integer rating) {
+    }
+
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>(MAX_QUEUED_RECORDS);
+    private Thread writer;
+
+    @Value("${helpdesk.journal.indexed-requests:100000}")
+    private long indexedRequests;
+
+    // Sequences of each request's records, so its history is read without scanning the journal; a request has a
+    // handful of records, so appending copies a short array. Bounded to the most recently used requests: the
+    // history of one that was dropped is found again by scanning the journal once.
+    private Cache<Long, long[]> sequencesByRequest;
+
+    public RequestJournalService() {
+        for (RequestJournal.Type type : RequestJournal.Type.values()) {
+            eventCounts.put(type, new AtomicLong());
+        }
+        for (RequestCategory category : RequestCategory.values()) {
+            createdByCategory.put(category, new AtomicLong());
+        }
+    }
+
+    // Before any listener below can fire, so no record is counted twice
+    @PostConstruct
+    public void rebuildCounters() throws IOException {
+        if (journal != null) {
+            sequencesByRequest = Caffeine.newBuilder().maximumSize(indexedRequests).build();
+            long replayed = journal.replay(1, entry -> {
+                count(entry);
+                index(entry.requestId(), entry.sequence());
+            });
+            System.out.println("📒 Replayed " + replayed + " journal records into the request counters and index");
+
+            writer = new Thread(this::writeQueued, "request-journal");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    // Appends what is still queued, so a clean shutdown loses no committed change
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writer != null) {
+            writer.interrupt();
+            writer.join();
+            List<Pending> batch = new ArrayList<>();
+            queue.drainTo(batch);
+            write(batch);
+        }
+    }
+
+    public boolean isEnabled() {
+        return journal != null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestChanged(RequestChangedEvent event) {
+        RequestJournal.Type type = RequestJournal.Type.valueOf(event.type().name());
+        RequestCategory category = event.request() != null ? event.request().category() : null;
+        append(type, event.requestId(), event.actorId(), category, null);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewCreated(ReviewCreatedEvent event) {
+        // The reviewer is the acting user; the reviewed volunteer is part of the review itself
+        append(RequestJournal.Type.REVIEWED, event.requestId(), event.reviewerId(), null, event.rating());
+    }
+
+    // Every record of one request, oldest first, read through the index: only that request's records are touched.
+    // Changes committed in the last moments may not be journaled yet.
+    public List<RequestJournal.Entry> getHistory(Long requestId) {
+        // The writer indexes records only once they are durable, and only for requests already in the index, so
+        // a record it appends while the journal is scanned here is either found by the scan or indexed after it
+        long[] sequences = sequencesByRequest.get(requestId, this::scanSequences);
+        try {
+            return journal.read(sequences);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void replay(long fromSequence, Consumer<RequestJournal.Entry> consumer) {
+        try {
+            journal.replay(fromSequence, consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Long> events = new LinkedHashMap<>();
+        eventCounts.forEach((type, count) -> events.put(type.name(), count.get()));
+        Map<String, Long> created = new LinkedHashMap<>();
+        createdByCategory.forEach((category, count) -> created.put(category.name(), count.get()));
+        long reviews = eventCounts.get(RequestJournal.Type.REVIEWED).get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("lastSequence", journal.lastSequence());
+        stats.put("segments", journal.segmentCount());
+        stats.put("events", events);
+        stats.put("createdByCategory", created);
+        stats.put("averageRating", reviews == 0 ? null : Math.round(ratingSum.get() * 100.0 / reviews) / 100.0);
+        return stats;
+    }
+
+    private void append(RequestJournal.Type type, Long requestId, Long actorId, RequestCategory category,
+                        Integer rating) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            queue.put(new Pending(type, requestId, actorId, category, rating));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("⚠️ Warning: Interrupted before journaling " + type + " of request " + requestId);
+        }
+    }
+
+    private void writeQueued() {
+        List<Pending> batch = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long[] sequences = new long[batch.size()];
+        int written = 0;
+        try {
+            for (Pending record : batch) {
+                sequences[written] = journal.append(record.type(), record.requestId(), record.actorId(),
+                                                    record.category(), record.rating());
+                written++;
+            }
+        } catch (IOException | RuntimeException e) {
+            // The changes themselves are committed; only their journal records are missing
+            System.err.println("⚠️ Warning: Could not journal " + (batch.size() - written) + " request changes: "
+                               + e.getMessage());
+        }
+        if (written == 0) {
+            return;
+        }
+        try {
+            journal.flush();
+        } catch (RuntimeException e) {
+            // Still in mapped memory, so the records reach the disk with the next flush unless the host crashes
+            System.err.println("⚠️ Warning: Could not flush the request journal: " + e.getMessage());
+            return;
+        }
+        for (int i = 0; i < written; i++) {
+            Pending record = batch.get(i);
+            long sequence = sequences[i];
+            count(record.type(), record.category(), record.rating());
+            sequencesByRequest.asMap().computeIfPresent(record.requestId(),
+                                                        (requestId, indexed) -> appended(indexed, sequence));
+        }
+    }
+
+    private void index(long requestId, long sequence) {
+        sequencesByRequest.asMap().merge(requestId, new long[]{sequence},
+                                         (indexed, added) -> appended(indexed, added[0]));
+    }
+
+    // Records are appended by one thread, so a request's sequences only grow; one already found by a scan is skipped
+    private static long[] appended(long[] sequences, long sequence) {
+        if (sequences.length > 0 && sequences[sequences.length - 1] >= sequence) {
+            return sequences;
+        }
+        long[] grown = Arrays.copyOf(sequences, sequences.length + 1);
+        grown[sequences.length] = sequence;
+        return grown;
+    }
+
+    private long[] scanSequences(Long requestId) {
+        List<Long> found = new ArrayList<>();
+        replay(1, entry -> {
+            if (entry.requestId() == requestId) {
+                found.add(entry.sequence());
+            }
+        });
+        return found.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private void count(RequestJournal.Entry entry) {
+        count(entry.type(), entry.category(), entry.rating());
+    }
+
+    private void count(RequestJournal.Type type, RequestCategory category, Integer rating) {
+        eventCounts.get(type).incrementAndGet();
+        if (type == RequestJournal.Type.CREATED && category != null) {
+            createdByCategory.get(category).incrementAndGet();
+        }
+        if (rating != null) {
+            ratingSum.addAndGet(rating);
+        }
+    }
+}
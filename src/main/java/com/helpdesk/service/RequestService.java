@@ -1,96 +1,258 @@
 package com.helpdesk.service;
 
+import com.helpdesk.config.CacheConfig;
+import com.helpdesk.dto.AuthenticatedUser;
+import com.helpdesk.dto.RequestFeedItem;
 import com.helpdesk.entity.*;
+import com.helpdesk.event.RequestChangedEvent;
+import com.helpdesk.repository.ArchivedRequestRepository;
 import com.helpdesk.repository.AssignmentRepository;
 import com.helpdesk.repository.RequestRepository;
+import com.helpdesk.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 @Transactional
+@Timed(value = "helpdesk.service", histogram = true)
 public class RequestService {
 
+    private static final int MIN_SEARCH_WORD_LENGTH = 3;
+
     @Autowired
     private RequestRepository requestRepository;
 
     @Autowired
     private AssignmentRepository assignmentRepository;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArchivedRequestRepository archivedRequestRepository;
+
+    @Autowired
+    private NearbyRequestService nearbyRequestService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @CacheEvict(cacheNames = {CacheConfig.OPEN_REQUESTS, CacheConfig.REQUEST_SEARCH}, allEntries = true)
     public Request createRequest(User user, String title, String description, 
-                               RequestCategory category, RequestUrgency urgency) {
+                               RequestCategory category, RequestUrgency urgency,
+                               Double latitude, Double longitude) {
+        Request savedRequest = saveNewRequest(user, title, description, category, urgency, latitude, longitude);
+        publish(RequestChangedEvent.Type.CREATED, savedRequest, user.getId());
+        return savedRequest;
+    }
+
+    // For a signed-in author: the user is only referenced, never loaded, and the change event carries the name
+    // and rating from the token
+    @CacheEvict(cacheNames = {CacheConfig.OPEN_REQUESTS, CacheConfig.REQUEST_SEARCH}, allEntries = true)
+    public Request createRequest(AuthenticatedUser author, String title, String description,
+                                 RequestCategory category, RequestUrgency urgency,
+                                 Double latitude, Double longitude) {
+        Request savedRequest = saveNewRequest(userRepository.getReferenceById(author.id()), title, description,
+                                              category, urgency, latitude, longitude);
+        eventPublisher.publishEvent(new RequestChangedEvent(RequestChangedEvent.Type.CREATED, savedRequest.getId(),
+            RequestFeedItem.from(savedRequest, author.name(), author.rating()), author.id()));
+        return savedRequest;
+    }
+
+    private Request saveNewRequest(User user, String title, String description,
+                                   RequestCategory category, RequestUrgency urgency,
+                                   Double latitude, Double longitude) {
         Request request = new Request();
         request.setUser(user);
         request.setTitle(title);
         request.setDescription(description);
         request.setCategory(category);
         request.setUrgency(urgency);
+        request.setLatitude(latitude);
+        request.setLongitude(longitude);
         request.setStatus(RequestStatus.OPEN);
-
         return requestRepository.save(request);
     }
 
+    // Ids are pre-allocated by the table generator, so the inserts are flushed as JDBC batches
+    @CacheEvict(cacheNames = {CacheConfig.OPEN_REQUESTS, CacheConfig.REQUEST_SEARCH}, allEntries = true)
+    public List<Request> createRequests(List<Request> requests) {
+        for (Request request : requests) {
+            request.setStatus(RequestStatus.OPEN);
+        }
+
+        List<Request> savedRequests = requestRepository.saveAll(requests);
+        for (Request savedRequest : savedRequests) {
+            publish(RequestChangedEvent.Type.CREATED, savedRequest, savedRequest.getUser().getId());
+        }
+        return savedRequests;
+    }
+
+    @Transactional(readOnly = true)
     public List<Request> getAllOpenRequests() {
         return requestRepository.findByStatusOrderByCreatedAtDesc(RequestStatus.OPEN);
     }
 
+    // History view: hot and archived requests, newest first. Archived ones are detached copies.
+    @Transactional(readOnly = true)
     public List<Request> getRequestsByUser(Long userId) {
-        return requestRepository.findByUserIdOrderByCreatedAtDesc(userId);
+        List<Request> requests = new ArrayList<>(requestRepository.findByUserIdOrderByCreatedAtDesc(userId));
+        List<ArchivedRequest> archived = archivedRequestRepository.findByUserIdOrderByCreatedAtDesc(userId);
+        if (archived.isEmpty()) {
+            return requests;
+        }
+        for (ArchivedRequest request : archived) {
+            requests.add(request.toRequest());
+        }
+        // Open requests are never archived, so the two lists can overlap in time
+        requests.sort(Comparator.comparing(Request::getCreatedAt).reversed());
+        return requests;
     }
 
+    // Stays read-write: controllers load through this before modifying and saving, which needs a managed,
+    // writable entity read from the primary
     public Optional<Request> findById(Long id) {
         return requestRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
     public List<Request> searchRequests(RequestCategory category, RequestUrgency urgency) {
         return requestRepository.findRequestsWithFilters(RequestStatus.OPEN, category, urgency);
     }
 
+    @Transactional(readOnly = true)
     public List<Request> searchRequests(RequestCategory category, RequestUrgency urgency, String searchTerm) {
-        return requestRepository.findRequestsWithSearch(RequestStatus.OPEN, category, urgency, searchTerm);
+        String booleanQuery = toBooleanQuery(searchTerm);
+        if (booleanQuery.isEmpty()) {
+            return List.of();
+        }
+        return requestRepository.findRequestsWithSearch(RequestStatus.OPEN.name(), nameOf(category), nameOf(urgency),
+                                                        booleanQuery);
     }
 
-    public Assignment acceptRequest(Long requestId, User volunteer) {
-        Optional<Request> requestOpt = requestRepository.findById(requestId);
-        if (requestOpt.isEmpty()) {
-            throw new RuntimeException("Request not found");
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.OPEN_REQUESTS, keyGenerator = CacheConfig.VERSIONED_KEY)
+    public List<RequestFeedItem> getOpenRequestsPage(RequestCategory category, RequestUrgency urgency,
+                                                     LocalDateTime beforeCreatedAt, Long beforeId, int limit,
+                                                     int descriptionLength) {
+        Pageable page = PageRequest.of(0, limit);
+
+        if (beforeCreatedAt == null || beforeId == null) {
+            return requestRepository.findFirstPage(RequestStatus.OPEN, category, urgency, descriptionLength, page);
         }
+        return requestRepository.findPageBefore(RequestStatus.OPEN, category, urgency, beforeCreatedAt, beforeId,
+                                                descriptionLength, page);
+    }
 
-        Request request = requestOpt.get();
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.REQUEST_SEARCH, keyGenerator = CacheConfig.VERSIONED_KEY)
+    public List<RequestFeedItem> searchOpenRequestsPage(RequestCategory category, RequestUrgency urgency,
+                                                        String searchTerm, int offset, int limit,
+                                                        int descriptionLength) {
+        String booleanQuery = toBooleanQuery(searchTerm);
+        if (booleanQuery.isEmpty()) {
+            return List.of();
+        }
 
-        // Check if user is trying to accept their own request
-        if (request.getUser().getId().equals(volunteer.getId())) {
-            throw new RuntimeException("You cannot accept your own request");
+        List<Long> rankedIds = requestRepository.searchRequestIds(RequestStatus.OPEN.name(), nameOf(category),
+                                                                  nameOf(urgency), booleanQuery, limit, offset);
+        if (rankedIds.isEmpty()) {
+            return List.of();
         }
 
-        // Check if request is still open
-        if (request.getStatus() != RequestStatus.OPEN) {
-            throw new RuntimeException("Request is no longer available");
+        // The IN lookup loses the relevance order, so restore it from the ranked ids
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < rankedIds.size(); i++) {
+            rank.put(rankedIds.get(i), i);
         }
+        List<RequestFeedItem> items = new ArrayList<>(requestRepository.findFeedItemsByIds(rankedIds, descriptionLength));
+        items.sort(Comparator.comparing(item -> rank.get(item.id())));
+        return items;
+    }
+
+    // Not cached: every caller searches around a different point
+    @Transactional(readOnly = true)
+    public List<RequestFeedItem> getNearbyRequestsPage(double latitude, double longitude, double radiusKm,
+                                                       RequestCategory category, RequestUrgency urgency,
+                                                       LocalDateTime beforeCreatedAt, Long beforeId, int limit,
+                                                       int descriptionLength) {
+        List<RequestFeedItem> page = new ArrayList<>(limit);
+        while (page.size() < limit) {
+            List<GeoGridIndex.Match> matches = nearbyRequestService.findNearby(latitude, longitude, radiusKm,
+                category, urgency, beforeCreatedAt, beforeId, limit - page.size());
+            if (matches.isEmpty()) {
+                break;
+            }
+
+            List<Long> ids = matches.stream().map(match -> match.entry().id()).toList();
+            Map<Long, RequestFeedItem> rows = new HashMap<>();
+            for (RequestFeedItem item : requestRepository.findFeedItemsByIds(ids, descriptionLength)) {
+                rows.put(item.id(), item);
+            }
+            // The index follows this node's commits, so a request may have been accepted or deleted since it was
+            // indexed, here or on another node. The page is topped up from the matches after those, so it is only
+            // short when nothing nearby is left. Requests never reopen, so one read as closed leaves the index
+            // now; a missing row may just not have reached the replica yet and is left to the periodic rebuild.
+            for (Long id : ids) {
+                RequestFeedItem item = rows.get(id);
+                if (item != null && item.status() == RequestStatus.OPEN) {
+                    page.add(item);
+                } else if (item != null) {
+                    nearbyRequestService.evict(id);
+                }
+            }
 
-        // Check if already accepted by someone
-        if (assignmentRepository.existsByRequestIdAndStatus(requestId, AssignmentStatus.ACCEPTED)) {
-            throw new RuntimeException("Request has already been accepted by another volunteer");
+            GeoGridIndex.Entry last = matches.get(matches.size() - 1).entry();
+            beforeCreatedAt = last.createdAt();
+            beforeId = last.id();
+        }
+        return page;
+    }
+
+    @CacheEvict(cacheNames = {CacheConfig.OPEN_REQUESTS, CacheConfig.REQUEST_SEARCH}, allEntries = true)
+    public Assignment acceptRequest(Long requestId, Long volunteerId) {
+        // A single conditional UPDATE decides the winner; losers never reach the assignment insert
+        int updated = requestRepository.updateStatusIfCurrent(requestId, RequestStatus.OPEN, RequestStatus.ACCEPTED,
+                                                              volunteerId);
+        if (updated == 0) {
+            Optional<Request> requestOpt = requestRepository.findById(requestId);
+            if (requestOpt.isEmpty()) {
+                throw new RuntimeException("Request not found");
+            }
+            if (requestOpt.get().getUser().getId().equals(volunteerId)) {
+                throw new RuntimeException("You cannot accept your own request");
+            }
+            throw new RequestConflictException("Request is no longer available");
         }
 
         // Create assignment
         Assignment assignment = new Assignment();
-        assignment.setRequest(request);
-        assignment.setVolunteer(volunteer);
+        assignment.setRequest(requestRepository.getReferenceById(requestId));
+        assignment.setVolunteer(userRepository.getReferenceById(volunteerId));
         assignment.setStatus(AssignmentStatus.ACCEPTED);
 
-        // Update request status
-        request.setStatus(RequestStatus.ACCEPTED);
-        requestRepository.save(request);
-
-        return assignmentRepository.save(assignment);
+        Assignment savedAssignment = assignmentRepository.save(assignment);
+        publish(RequestChangedEvent.Type.ACCEPTED, requestId, volunteerId);
+        return savedAssignment;
     }
 
-    public Request completeRequest(Long requestId, User volunteer) {
+    @CacheEvict(cacheNames = {CacheConfig.OPEN_REQUESTS, CacheConfig.REQUEST_SEARCH}, allEntries = true)
+    public Request completeRequest(Long requestId, Long volunteerId) {
         Optional<Request> requestOpt = requestRepository.findById(requestId);
         if (requestOpt.isEmpty()) {
             throw new RuntimeException("Request not found");
@@ -99,7 +261,7 @@ public class RequestService {
         Request request = requestOpt.get();
 
         // Find the assignment
-        Optional<Assignment> assignmentOpt = assignmentRepository.findByRequestIdAndVolunteerId(requestId, volunteer.getId());
+        Optional<Assignment> assignmentOpt = assignmentRepository.findByRequestIdAndVolunteerId(requestId, volunteerId);
         if (assignmentOpt.isEmpty()) {
             throw new RuntimeException("You are not assigned to this request");
         }
@@ -113,14 +275,58 @@ public class RequestService {
 
         // Update request status
         request.setStatus(RequestStatus.COMPLETED);
-        return requestRepository.save(request);
+        request.setClosedAt(LocalDateTime.now());
+        Request savedRequest = requestRepository.save(request);
+        publish(RequestChangedEvent.Type.COMPLETED, requestId, volunteerId);
+        return savedRequest;
     }
 
-    public Request updateRequest(Request request) {
-        return requestRepository.save(request);
+    @CacheEvict(cacheNames = {CacheConfig.OPEN_REQUESTS, CacheConfig.REQUEST_SEARCH}, allEntries = true)
+    // actorId is the signed-in user making the change, null for clients without a token
+    public Request updateRequest(Request request, Long actorId) {
+        if (request.getStatus() == RequestStatus.CANCELLED && request.getClosedAt() == null) {
+            request.setClosedAt(LocalDateTime.now());
+        }
+        Request savedRequest = requestRepository.save(request);
+        if (savedRequest.getStatus() == RequestStatus.CANCELLED) {
+            publish(RequestChangedEvent.Type.CANCELLED, savedRequest.getId(), actorId);
+        } else {
+            publish(RequestChangedEvent.Type.UPDATED, savedRequest, actorId);
+        }
+        return savedRequest;
     }
 
-    public void deleteRequest(Long id) {
+    @CacheEvict(cacheNames = {CacheConfig.OPEN_REQUESTS, CacheConfig.REQUEST_SEARCH}, allEntries = true)
+    public void deleteRequest(Long id, Long actorId) {
         requestRepository.deleteById(id);
+        publish(RequestChangedEvent.Type.DELETED, id, actorId);
+    }
+
+    private void publish(RequestChangedEvent.Type type, Long requestId, Long actorId) {
+        eventPublisher.publishEvent(new RequestChangedEvent(type, requestId, null, actorId));
+    }
+
+    private void publish(RequestChangedEvent.Type type, Request request, Long actorId) {
+        eventPublisher.publishEvent(new RequestChangedEvent(type, request.getId(), RequestFeedItem.from(request),
+                                                            actorId));
+    }
+
+    // Turns free text into a BOOLEAN MODE expression requiring every word as a prefix, e.g. "lawn mow" -> "+lawn* +mow*".
+    // Words shorter than InnoDB's default ft_min_token_size (3) are not indexed and are dropped.
+    private static String toBooleanQuery(String searchTerm) {
+        StringBuilder query = new StringBuilder();
+        for (String word : searchTerm.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() >= MIN_SEARCH_WORD_LENGTH) {
+                if (query.length() > 0) {
+                    query.append(' ');
+                }
+                query.append('+').append(word).append('*');
+            }
+        }
+        return query.toString();
+    }
+
+    private static String nameOf(Enum<?> value) {
+        return value == null ? null : value.name();
     }
 }
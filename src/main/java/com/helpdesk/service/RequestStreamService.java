@@ -0,0 +1,297 @@
+package com.helpdesk.service;
+
+import com.helpdesk.dto.RequestFeedItem;
+import com.helpdesk.dto.RequestResponse;
+import com.helpdesk.entity.RequestCategory;
+import com.helpdesk.entity.RequestUrgency;
+import com.helpdesk.event.RequestChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class RequestStreamService {
+
+    private static final int REPLAY_BUFFER_SIZE = 1000;
+    private static final int MAX_SUBSCRIBERS = 10000;
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+    // Events waiting for one client; a client this far behind is disconnected and resumes when it reconnects
+    private static final int MAX_QUEUED_EVENTS = 100;
+    private static final int SENDER_THREADS = 4;
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    // Event ids are "<stream id>-<sequence>". The stream id is new on every start, so an id handed out by
+    // another node or an earlier run is never mistaken for a position in this node's sequence.
+    private final String streamId = UUID.randomUUID().toString().substring(0, 8);
+
+    // Recent events kept for Last-Event-ID resume; guarded by eventsLock together with lastEventId. A lock
+    // rather than a monitor, since request threads park inside it (handing events to the dispatcher), which
+    // would pin a virtual thread to its carrier.
+    private final Deque<StreamEvent> recentEvents = new ArrayDeque<>();
+    private long lastEventId = 0;
+    private final ReentrantLock eventsLock = new ReentrantLock();
+
+    // Fans events out to the subscriptions' queues in order; it never writes to a connection, so it never blocks
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "request-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Writes queued events, at most one thread per subscription at a time so writes to an emitter never
+    // interleave. A client that stops reading holds up one sender and its own queue, not the other streams;
+    // idle connections cost no threads at all.
+    private final ExecutorService senders = Executors.newFixedThreadPool(SENDER_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "request-stream-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // lastEventIdHeader is the client's Last-Event-ID, null or empty on a first connect
+    public SseEmitter subscribe(RequestCategory category, RequestUrgency urgency, String lastEventIdHeader) {
+        if (subscriptions.size() >= MAX_SUBSCRIBERS) {
+            throw new IllegalStateException("Too many open streams");
+        }
+
+        boolean resuming = lastEventIdHeader != null && !lastEventIdHeader.isEmpty();
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Subscription subscription;
+        eventsLock.lock();
+        try {
+            Long resumeAfterId = resuming ? parseEventId(lastEventIdHeader) : null;
+            // An id from elsewhere or ahead of this node cannot be resumed: the client is told to reload instead
+            boolean reset = resuming && (resumeAfterId == null || resumeAfterId > lastEventId);
+            subscription = new Subscription(emitter, category, urgency,
+                                            resumeAfterId != null && !reset ? resumeAfterId : lastEventId, reset);
+        } finally {
+            eventsLock.unlock();
+        }
+
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscriptions.remove(subscription));
+
+        subscriptions.add(subscription);
+        dispatcher.execute(() -> replay(subscription));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestChanged(RequestChangedEvent event) {
+        eventsLock.lock();
+        try {
+            StreamEvent streamEvent = new StreamEvent(++lastEventId, event);
+            recentEvents.addLast(streamEvent);
+            if (recentEvents.size() > REPLAY_BUFFER_SIZE) {
+                recentEvents.removeFirst();
+            }
+            dispatcher.execute(() -> broadcast(streamEvent));
+        } finally {
+            eventsLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedRate = 30000)
+    public void sendHeartbeat() {
+        // Lets proxies keep idle streams open and surfaces dead connections
+        dispatcher.execute(() -> {
+            for (Subscription subscription : subscriptions) {
+                enqueue(subscription, SseEmitter.event().comment("keepalive"));
+            }
+        });
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        for (Subscription subscription : subscriptions) {
+            subscription.emitter.complete();
+        }
+        subscriptions.clear();
+    }
+
+    private void replay(Subscription subscription) {
+        List<StreamEvent> missed;
+        long oldestBuffered;
+        eventsLock.lock();
+        try {
+            missed = new ArrayList<>(recentEvents);
+            oldestBuffered = recentEvents.isEmpty() ? lastEventId + 1 : recentEvents.peekFirst().id;
+        } finally {
+            eventsLock.unlock();
+        }
+
+        // The client is further behind than the buffer reaches, or its id is not from this stream,
+        // so it has to reload the feed
+        if (subscription.reset || subscription.lastSentId < oldestBuffered - 1) {
+            long latest = missed.isEmpty() ? subscription.lastSentId
+                                           : Math.max(subscription.lastSentId, missed.get(missed.size() - 1).id);
+            subscription.lastSentId = latest;
+            enqueue(subscription, SseEmitter.event().id(eventId(latest)).name("reset").data("{}"));
+            return;
+        }
+
+        for (StreamEvent streamEvent : missed) {
+            deliver(subscription, streamEvent);
+        }
+        if (missed.isEmpty()) {
+            enqueue(subscription, SseEmitter.event().comment("connected"));
+        }
+    }
+
+    private void broadcast(StreamEvent streamEvent) {
+        for (Subscription subscription : subscriptions) {
+            deliver(subscription, streamEvent);
+        }
+    }
+
+    private void deliver(Subscription subscription, StreamEvent streamEvent) {
+        if (streamEvent.id <= subscription.lastSentId) {
+            return;
+        }
+        subscription.lastSentId = streamEvent.id;
+
+        RequestChangedEvent event = streamEvent.event;
+        if (!subscription.matches(event)) {
+            return;
+        }
+
+        enqueue(subscription, SseEmitter.event()
+            .id(eventId(streamEvent.id))
+            .name(event.type().name().toLowerCase())
+            .data(toPayload(event), MediaType.APPLICATION_JSON));
+    }
+
+    private void enqueue(Subscription subscription, SseEmitter.SseEventBuilder event) {
+        boolean startDrain;
+        synchronized (subscription) {
+            if (subscription.closed) {
+                return;
+            }
+            if (subscription.queue.size() >= MAX_QUEUED_EVENTS) {
+                // Too slow to keep up: drop what is queued and disconnect once the write in progress returns
+                subscription.closed = true;
+                subscription.queue.clear();
+                subscriptions.remove(subscription);
+            } else {
+                subscription.queue.addLast(event);
+            }
+            startDrain = !subscription.draining;
+            subscription.draining = true;
+        }
+        if (startDrain) {
+            senders.execute(() -> drain(subscription));
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        while (true) {
+            SseEmitter.SseEventBuilder event;
+            synchronized (subscription) {
+                event = subscription.closed ? null : subscription.queue.pollFirst();
+                if (event == null) {
+                    subscription.draining = false;
+                    if (subscription.closed) {
+                        break;
+                    }
+                    return;
+                }
+            }
+            try {
+                subscription.emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // The container reports the broken connection through onError/onCompletion as well
+                synchronized (subscription) {
+                    subscription.closed = true;
+                    subscription.queue.clear();
+                }
+                subscriptions.remove(subscription);
+                return;
+            }
+        }
+        // The client reconnects and resumes from the last id it received
+        subscription.emitter.complete();
+    }
+
+    private String eventId(long sequence) {
+        return streamId + "-" + sequence;
+    }
+
+    // Null unless the id was handed out by this stream
+    private Long parseEventId(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(streamId)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private RequestResponse toPayload(RequestChangedEvent event) {
+        RequestFeedItem request = event.request();
+        if (request == null) {
+            return new RequestResponse(event.requestId(), null, null, null, null, null,
+                                       event.type().toString(), null, null, null, null, null);
+        }
+        return RequestResponse.from(request);
+    }
+
+    private record StreamEvent(long id, RequestChangedEvent event) {
+    }
+
+    private static class Subscription {
+
+        private final SseEmitter emitter;
+        private final RequestCategory category;
+        private final RequestUrgency urgency;
+        private final boolean reset;
+        private long lastSentId;      // dispatcher thread only
+
+        // Guarded by the subscription
+        private final Deque<SseEmitter.SseEventBuilder> queue = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        Subscription(SseEmitter emitter, RequestCategory category, RequestUrgency urgency, long lastSentId,
+                     boolean reset) {
+            this.emitter = emitter;
+            this.category = category;
+            this.urgency = urgency;
+            this.lastSentId = lastSentId;
+            this.reset = reset;
+        }
+
+        // Only new requests are filtered; updates and removals go to everyone so stale cards can be patched
+        boolean matches(RequestChangedEvent event) {
+            if (event.type() != RequestChangedEvent.Type.CREATED) {
+                return true;
+            }
+            return (category == null || category == event.request().category())
+                && (urgency == null || urgency == event.request().urgency());
+        }
+    }
+}
@@ -1,21 +1,34 @@
 package com.helpdesk.service;
 
+import com.helpdesk.config.CacheConfig;
+import com.helpdesk.dto.VolunteerReview;
+import com.helpdesk.entity.ArchivedReview;
 import com.helpdesk.entity.Assignment;
 import com.helpdesk.entity.Request;
 import com.helpdesk.entity.Review;
 import com.helpdesk.entity.User;
+import com.helpdesk.event.ReviewCreatedEvent;
+import com.helpdesk.repository.ArchivedRequestRepository;
+import com.helpdesk.repository.ArchivedReviewRepository;
 import com.helpdesk.repository.AssignmentRepository;
 import com.helpdesk.repository.RequestRepository;
 import com.helpdesk.repository.ReviewRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 @Transactional
+@Timed(value = "helpdesk.service", histogram = true)
 public class ReviewService {
 
     @Autowired
@@ -28,12 +41,29 @@ public class ReviewService {
     private AssignmentRepository assignmentRepository;
 
     @Autowired
-    private UserService userService;
+    private ArchivedRequestRepository archivedRequestRepository;
 
-    public Review createReview(Long requestId, Long volunteerId, Integer rating, String comment) {
+    @Autowired
+    private ArchivedReviewRepository archivedReviewRepository;
+
+    @Autowired
+    private RatingUpdateService ratingUpdateService;
+
+    @Autowired
+    private ContentVersionService contentVersions;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @CacheEvict(cacheNames = CacheConfig.VOLUNTEER_REVIEWS, allEntries = true)
+    // requesterId is the reviewer when known; only the request's owner may review it
+    public Review createReview(Long requestId, Long requesterId, Long volunteerId, Integer rating, String comment) {
         // Verify request exists and is completed
         Optional<Request> requestOpt = requestRepository.findById(requestId);
         if (requestOpt.isEmpty()) {
+            if (archivedRequestRepository.existsById(requestId)) {
+                throw new RuntimeException("Request has been archived and can no longer be reviewed");
+            }
             throw new RuntimeException("Request not found");
         }
 
@@ -42,25 +72,23 @@ public class ReviewService {
             throw new RuntimeException("Request must be completed before reviewing");
         }
 
-        // Verify volunteer exists
-        Optional<User> volunteerOpt = userService.findById(volunteerId);
-        if (volunteerOpt.isEmpty()) {
-            throw new RuntimeException("Volunteer not found");
+        if (requesterId != null && !request.getUser().getId().equals(requesterId)) {
+            throw new RuntimeException("Only the requester can review this request");
         }
 
-        User volunteer = volunteerOpt.get();
-
         // Check if review already exists
         if (reviewRepository.existsByRequestIdAndVolunteerId(requestId, volunteerId)) {
             throw new RuntimeException("Review already exists for this request and volunteer");
         }
 
-        // Verify assignment exists
+        // Verify assignment exists; it also proves the volunteer exists, so the user is never loaded
         Optional<Assignment> assignmentOpt = assignmentRepository.findByRequestIdAndVolunteerId(requestId, volunteerId);
         if (assignmentOpt.isEmpty()) {
             throw new RuntimeException("No assignment found for this request and volunteer");
         }
 
+        User volunteer = assignmentOpt.get().getVolunteer();
+
         // Create review
         Review review = new Review();
         review.setRequest(request);
@@ -68,27 +96,57 @@ public class ReviewService {
         review.setRating(rating);
         review.setComment(comment);
 
-        Review savedReview = reviewRepository.save(review);
+        // The volunteer's average is updated in the background, so the user row is not locked here. Queued before
+        // the review is inserted: a rating backfill holding the queue then keeps this review out of its recount
+        // too (see UserService.backfillRatingAggregates).
+        ratingUpdateService.recordRating(volunteerId, rating);
 
-        // Update volunteer's average rating
-        userService.updateUserRating(volunteerId);
+        Review savedReview = reviewRepository.save(review);
+        contentVersions.markChanged(ContentVersionService.Content.REVIEWS);
+        eventPublisher.publishEvent(new ReviewCreatedEvent(savedReview.getId(), requestId, requesterId, volunteerId,
+                                                           rating));
 
         return savedReview;
     }
 
-    public List<Review> getReviewsForVolunteer(Long volunteerId) {
-        return reviewRepository.findByVolunteerIdOrderByCreatedAtDesc(volunteerId);
+    // Reads below cover hot and archived reviews; archived ones come back as detached copies
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.VOLUNTEER_REVIEWS, keyGenerator = CacheConfig.VERSIONED_KEY)
+    public List<VolunteerReview> getReviewsForVolunteer(Long volunteerId) {
+        List<VolunteerReview> reviews = reviewRepository.findVolunteerReviews(volunteerId);
+        List<VolunteerReview> archived = archivedReviewRepository.findVolunteerReviews(volunteerId);
+        if (archived.isEmpty()) {
+            return reviews;
+        }
+        List<VolunteerReview> all = new ArrayList<>(reviews.size() + archived.size());
+        all.addAll(reviews);
+        all.addAll(archived);
+        all.sort(Comparator.comparing(VolunteerReview::createdAt).reversed());
+        return all;
     }
 
+    @Transactional(readOnly = true)
     public List<Review> getReviewsForRequest(Long requestId) {
-        return reviewRepository.findByRequestIdOrderByCreatedAtDesc(requestId);
+        // A request and its reviews are archived together, so only one of the two can have rows
+        List<Review> reviews = reviewRepository.findByRequestIdOrderByCreatedAtDesc(requestId);
+        if (!reviews.isEmpty()) {
+            return reviews;
+        }
+        return archivedReviewRepository.findByRequestIdOrderByCreatedAtDesc(requestId).stream()
+            .map(ArchivedReview::toReview)
+            .toList();
     }
 
+    @Transactional(readOnly = true)
     public Optional<Review> findById(Long id) {
-        return reviewRepository.findById(id);
+        return reviewRepository.findById(id)
+            .or(() -> archivedReviewRepository.findById(id).map(ArchivedReview::toReview));
     }
 
+    @Transactional(readOnly = true)
     public boolean hasReviewForRequest(Long requestId, Long volunteerId) {
-        return reviewRepository.existsByRequestIdAndVolunteerId(requestId, volunteerId);
+        return reviewRepository.existsByRequestIdAndVolunteerId(requestId, volunteerId)
+               || archivedReviewRepository.existsByRequestIdAndVolunteerId(requestId, volunteerId);
     }
 }
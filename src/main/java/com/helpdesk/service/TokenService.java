@@ -0,0 +1,112 @@
+package com.helpdesk.service;
+
+import com.helpdesk.dto.AuthenticatedUser;
+import com.helpdesk.entity.User;
+import com.helpdesk.entity.UserRole;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+public class TokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    // HMAC-SHA256 keys shorter than its 32-byte output weaken it
+    private static final int MIN_SECRET_BYTES = 32;
+
+    // Values shipped in the configuration templates; anyone can sign tokens with them
+    private static final Set<String> PLACEHOLDER_SECRETS = Set.of(
+        "change-me-to-a-long-random-secret",
+        "change_me_to_a_long_random_secret"
+    );
+
+    @Value("${helpdesk.auth.token-secret:}")
+    private String tokenSecret;
+
+    @Value("${helpdesk.auth.token-ttl-seconds:43200}")
+    private long tokenTtlSeconds;
+
+    private SecretKeySpec signingKey;
+
+    @PostConstruct
+    public void init() {
+        byte[] secret;
+        if (tokenSecret == null || tokenSecret.isBlank()) {
+            secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+            System.err.println("⚠️ Warning: helpdesk.auth.token-secret is not set; tokens will only be accepted by this instance until it restarts");
+        } else {
+            // Tokens are trusted without a user lookup, so a guessable secret lets anyone act as any user
+            if (PLACEHOLDER_SECRETS.contains(tokenSecret.trim().toLowerCase())) {
+                throw new IllegalStateException("helpdesk.auth.token-secret is still the placeholder value; "
+                                                + "set a random secret of at least " + MIN_SECRET_BYTES + " bytes");
+            }
+            secret = tokenSecret.getBytes(StandardCharsets.UTF_8);
+            if (secret.length < MIN_SECRET_BYTES) {
+                throw new IllegalStateException("helpdesk.auth.token-secret must be at least " + MIN_SECRET_BYTES
+                                                + " bytes, it is " + secret.length);
+            }
+        }
+        signingKey = new SecretKeySpec(secret, ALGORITHM);
+    }
+
+    // Token format: base64url("id|role|expiresAt|rating|name") + "." + base64url(HMAC-SHA256 of the first part)
+    public String issueToken(User user) {
+        long expiresAt = Instant.now().getEpochSecond() + tokenTtlSeconds;
+        double rating = user.getRating() == null ? 0.0 : user.getRating();
+        String claims = user.getId() + "|" + user.getRole().name() + "|" + expiresAt + "|" + rating + "|"
+                        + user.getName();
+        String encodedClaims = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(claims.getBytes(StandardCharsets.UTF_8));
+        return encodedClaims + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(sign(encodedClaims));
+    }
+
+    public Optional<AuthenticatedUser> verifyToken(String token) {
+        int separator = token.indexOf('.');
+        if (separator <= 0) {
+            return Optional.empty();
+        }
+
+        try {
+            String encodedClaims = token.substring(0, separator);
+            byte[] signature = Base64.getUrlDecoder().decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(sign(encodedClaims), signature)) {
+                return Optional.empty();
+            }
+
+            String[] claims = new String(Base64.getUrlDecoder().decode(encodedClaims), StandardCharsets.UTF_8)
+                .split("\\|", 5);
+            if (claims.length != 5 || Long.parseLong(claims[2]) < Instant.now().getEpochSecond()) {
+                return Optional.empty();
+            }
+
+            return Optional.of(new AuthenticatedUser(Long.valueOf(claims[0]), UserRole.valueOf(claims[1]), claims[4],
+                                                     Double.valueOf(claims[3])));
+        } catch (IllegalArgumentException e) {
+            // Malformed Base64, number or role
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String data) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(signingKey);
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC signing is unavailable", e);
+        }
+    }
+}
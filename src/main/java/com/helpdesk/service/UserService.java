@@ -1,27 +1,47 @@
 package com.helpdesk.service;
 
+import com.helpdesk.config.CacheConfig;
+import com.helpdesk.dto.MemberStats;
 import com.helpdesk.entity.User;
 import com.helpdesk.entity.UserRole;
+import com.helpdesk.repository.PendingRatingRepository;
 import com.helpdesk.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 @Transactional
+@Timed(value = "helpdesk.service", histogram = true)
 public class UserService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PendingRatingRepository pendingRatingRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
-    public User registerUser(String name, String email, String password, UserRole role) {
+    @Autowired
+    private ContentVersionService contentVersions;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public User registerUser(String name, String email, String password, UserRole role,
+                             Double latitude, Double longitude) {
         if (userRepository.existsByEmail(email)) {
             throw new RuntimeException("Email already exists");
         }
@@ -31,36 +51,72 @@ public class UserService {
         user.setEmail(email);
         user.setPassword(passwordEncoder.encode(password));
         user.setRole(role);
+        user.setLatitude(latitude);
+        user.setLongitude(longitude);
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        contentVersions.markChanged(ContentVersionService.Content.USERS);
+        return savedUser;
     }
 
+    // Natural-id lookup: email -> id and id -> user are both answered by the second-level cache when warm
+    @Transactional(readOnly = true)
     public Optional<User> findByEmail(String email) {
-        return userRepository.findByEmail(email);
+        return entityManager.unwrap(Session.class)
+            .bySimpleNaturalId(User.class)
+            .loadOptional(email);
     }
 
+    // Answered by the second-level cache when warm (User is a READ_WRITE cached entity)
+    @Transactional(readOnly = true)
     public Optional<User> findById(Long id) {
         return userRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
+    public List<User> findAllById(Collection<Long> ids) {
+        return userRepository.findAllById(ids);
+    }
+
+    @Transactional(readOnly = true)
     public List<User> findAllUsers() {
         return userRepository.findAll();
     }
 
+    // Read-write so a miss is read from the primary: the result goes into the query cache, where a lagging
+    // replica's counts would stay until users, requests or reviews next change. Hits use no connection at all.
+    @Transactional
+    public List<MemberStats> getMemberStats() {
+        return userRepository.findAllMemberStats();
+    }
+
     public User updateUser(User user) {
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        contentVersions.markChanged(ContentVersionService.Content.USERS);
+        return savedUser;
     }
 
-    public void updateUserRating(Long userId) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            Double avgRating = userRepository.getAverageRatingForVolunteer(userId);
-            if (avgRating != null) {
-                user.setRating(Math.round(avgRating * 100.0) / 100.0); // Round to 2 decimal places
-                userRepository.save(user);
-            }
-        }
+    // Called by RatingUpdateService with every pending rating of one volunteer. Feed items carry the
+    // requester's rating, hence the feed and search evictions.
+    @CacheEvict(cacheNames = {CacheConfig.OPEN_REQUESTS, CacheConfig.REQUEST_SEARCH}, allEntries = true)
+    public void applyRatings(Long userId, long ratingSum, long ratingCount) {
+        userRepository.addRatings(userId, ratingSum, ratingCount);
+        contentVersions.markChanged(ContentVersionService.Content.USERS);
+    }
+
+    // One-off initialization of rating_sum/rating_count from existing reviews
+    @CacheEvict(cacheNames = {CacheConfig.OPEN_REQUESTS, CacheConfig.REQUEST_SEARCH}, allEntries = true)
+    public int backfillRatingAggregates() {
+        // The recount already includes every review, so pending outbox entries would be counted twice. The outbox
+        // stays locked until the recount commits: a review queues its entry before inserting the review row, so a
+        // review whose entry already exists has committed by the time the lock is granted and is in the recount, and
+        // one that comes later waits, is not in the recount, and is applied by the flush once.
+        pendingRatingRepository.lockAll();
+        pendingRatingRepository.deleteAllInBatch();
+        int users = userRepository.recalculateRatingAggregates();
+        userRepository.refreshRatingsFromAggregates();
+        contentVersions.markChanged(ContentVersionService.Content.USERS);
+        return users;
     }
 
     public boolean validatePassword(String rawPassword, String encodedPassword) {
@@ -16,9 +16,52 @@ function checkAuth() {
     return true;
 }
 
+// JSON headers plus the signed login token, which identifies the user to write endpoints
+function authHeaders() {
+    const headers = { 'Content-Type': 'application/json' };
+    const token = localStorage.getItem('authToken');
+    if (token) {
+        headers['Authorization'] = 'Bearer ' + token;
+    }
+    return headers;
+}
+
+// GET a JSON endpoint with If-None-Match; on 304 the body kept from the last 200 for that URL is reused
+async function fetchJsonCached(url) {
+    const key = 'etag:' + url;
+    let cached = null;
+    try {
+        cached = JSON.parse(sessionStorage.getItem(key));
+    } catch (e) {
+        cached = null;
+    }
+
+    const headers = {};
+    if (cached) {
+        headers['If-None-Match'] = cached.etag;
+    }
+
+    const response = await fetch(url, { headers });
+    if (response.status === 304 && cached) {
+        return cached.data;
+    }
+
+    const data = await response.json();
+    const etag = response.headers.get('ETag');
+    if (response.ok && etag) {
+        try {
+            sessionStorage.setItem(key, JSON.stringify({ etag, data }));
+        } catch (e) {
+            // Storage full or disabled: the next request simply gets a full response
+        }
+    }
+    return data;
+}
+
 // Logout function
 function logout() {
     localStorage.removeItem('currentUser');
+    localStorage.removeItem('authToken');
     window.location.href = 'login.html';
 }
 
@@ -68,6 +111,7 @@ function formatStatus(status) {
 function createRequestCard(request, showActions = true) {
     const card = document.createElement('div');
     card.className = 'request-card';
+    card.dataset.requestId = request.id;
 
     // For now, show accept button for all open requests (no authentication)
     const canAccept = request.status === 'OPEN';
@@ -83,7 +127,7 @@ function createRequestCard(request, showActions = true) {
             </div>
         </div>
 
-        <p class="request-description">${request.description}</p>
+        <p class="request-description">${request.description}${request.descriptionTruncated ? '…' : ''}</p>
 
         <div class="request-meta">
             <span>${formatCategory(request.category)}</span>
@@ -113,14 +157,14 @@ async function acceptRequest(requestId) {
         return;
     }
 
+    const currentUser = getCurrentUser();
+
     try {
         const response = await fetch(`/api/requests/${requestId}/accept`, {
             method: 'PUT',
-            headers: {
-                'Content-Type': 'application/json',
-            },
+            headers: authHeaders(),
             body: JSON.stringify({
-                volunteerId: 1 // Default volunteer ID for testing
+                volunteerId: currentUser ? currentUser.id : 1 // Default volunteer ID for testing
             })
         });
 
@@ -154,9 +198,7 @@ async function completeRequest(requestId) {
     try {
         const response = await fetch(`/api/requests/${requestId}/complete`, {
             method: 'PUT',
-            headers: {
-                'Content-Type': 'application/json',
-            },
+            headers: authHeaders(),
             body: JSON.stringify({
                 volunteerId: currentUser.id
             })
@@ -11,8 +11,7 @@ document.addEventListener('DOMContentLoaded', function() {
 // Load all community members
 async function loadCommunityMembers() {
     try {
-        const response = await fetch('/api/community/members');
-        const data = await response.json();
+        const data = await fetchJsonCached('/api/community/members');
         
         if (data.success && data.members) {
             allMembers = data.members;
@@ -212,8 +211,7 @@ function clearMemberSearch() {
 // View member details
 async function viewMemberDetails(memberId) {
     try {
-        const response = await fetch(`/api/community/members/${memberId}`);
-        const member = await response.json();
+        const member = await fetchJsonCached(`/api/community/members/${memberId}`);
         
         if (member.error) {
             alert(member.error);
@@ -3,6 +3,15 @@
 let currentReviewRequestId = null;
 let currentReviewVolunteerId = null;
 
+// Infinite scroll state for the available requests feed
+const REQUESTS_PAGE_SIZE = 20;
+const DESCRIPTION_PREVIEW_LENGTH = 240;
+let availableNextCursor = null;
+let availableLoading = false;
+let availableGeneration = 0;
+let availableObserver = null;
+let requestStream = null;
+
 // Initialize dashboard
 document.addEventListener('DOMContentLoaded', function() {
     checkAuth();
@@ -14,6 +23,7 @@ document.addEventListener('DOMContentLoaded', function() {
     }
     
     // Load initial data
+    setupInfiniteScroll();
     loadAvailableRequests();
     
     // Setup star rating
@@ -52,40 +62,147 @@ function showTab(tabName) {
     }
 }
 
-// Load available requests
-async function loadAvailableRequests() {
+// Load the first page of available requests
+function loadAvailableRequests() {
+    availableGeneration++;
+    availableNextCursor = null;
+    availableLoading = false;
+    document.getElementById('available-requests').innerHTML = '';
+    connectRequestStream();
+    return loadMoreAvailableRequests(true);
+}
+
+// Load the next page of available requests and append it to the list
+async function loadMoreAvailableRequests(firstPage = false) {
+    if (availableLoading || (!firstPage && !availableNextCursor)) {
+        return;
+    }
+    
+    const generation = availableGeneration;
+    availableLoading = true;
+    
     try {
         const category = document.getElementById('category-filter').value;
         const urgency = document.getElementById('urgency-filter').value;
         
-        let url = '/api/requests';
         const params = new URLSearchParams();
+        params.append('limit', REQUESTS_PAGE_SIZE);
+        params.append('descriptionLength', DESCRIPTION_PREVIEW_LENGTH);
         
         if (category) params.append('category', category);
         if (urgency) params.append('urgency', urgency);
+        if (!firstPage) params.append('cursor', availableNextCursor);
         
-        if (params.toString()) {
-            url += '?' + params.toString();
-        }
+        const data = await fetchJsonCached('/api/requests?' + params.toString());
         
-        const response = await fetch(url);
-        const data = await response.json();
+        // Filters changed while this page was in flight
+        if (generation !== availableGeneration) {
+            return;
+        }
         
         const container = document.getElementById('available-requests');
-        container.innerHTML = '';
         
         if (data.requests && data.requests.length > 0) {
             data.requests.forEach(request => {
                 const card = createRequestCard(request, true);
                 container.appendChild(card);
             });
-        } else {
+        } else if (firstPage) {
             container.innerHTML = '<p class="no-requests">No requests available at the moment.</p>';
         }
+        
+        availableNextCursor = data.nextCursor || null;
     } catch (error) {
         console.error('Error loading available requests:', error);
-        document.getElementById('available-requests').innerHTML = 
-            '<p class="error">Unable to load requests. Please try again later.</p>';
+        if (generation === availableGeneration && firstPage) {
+            document.getElementById('available-requests').innerHTML = 
+                '<p class="error">Unable to load requests. Please try again later.</p>';
+        }
+        availableNextCursor = null;
+    } finally {
+        if (generation === availableGeneration) {
+            availableLoading = false;
+        }
+    }
+}
+
+// Fetch the next page whenever the sentinel below the list scrolls into view
+function setupInfiniteScroll() {
+    const sentinel = document.getElementById('available-requests-sentinel');
+    if (!sentinel || !('IntersectionObserver' in window)) {
+        return;
+    }
+    
+    availableObserver = new IntersectionObserver(entries => {
+        if (entries.some(entry => entry.isIntersecting)) {
+            loadMoreAvailableRequests();
+        }
+    }, { rootMargin: '200px' });
+    
+    availableObserver.observe(sentinel);
+}
+
+// Subscribe to live request changes for the current filters
+function connectRequestStream() {
+    if (!('EventSource' in window)) {
+        return;
+    }
+    if (requestStream) {
+        requestStream.close();
+    }
+    
+    const category = document.getElementById('category-filter').value;
+    const urgency = document.getElementById('urgency-filter').value;
+    
+    const params = new URLSearchParams();
+    if (category) params.append('category', category);
+    if (urgency) params.append('urgency', urgency);
+    
+    let url = '/api/requests/stream';
+    if (params.toString()) {
+        url += '?' + params.toString();
+    }
+    
+    // EventSource reconnects on its own and resumes with Last-Event-ID
+    requestStream = new EventSource(url);
+    requestStream.addEventListener('created', event => upsertAvailableRequest(JSON.parse(event.data), true));
+    requestStream.addEventListener('updated', event => upsertAvailableRequest(JSON.parse(event.data), false));
+    ['accepted', 'completed', 'cancelled', 'deleted'].forEach(type => {
+        requestStream.addEventListener(type, event => removeAvailableRequest(JSON.parse(event.data).id));
+    });
+    requestStream.addEventListener('reset', () => loadAvailableRequests());
+}
+
+// Add a new request card or replace an existing one in place
+function upsertAvailableRequest(request, isNew) {
+    const category = document.getElementById('category-filter').value;
+    const urgency = document.getElementById('urgency-filter').value;
+    
+    if ((category && request.category !== category) || (urgency && request.urgency !== urgency)) {
+        removeAvailableRequest(request.id);
+        return;
+    }
+    
+    const container = document.getElementById('available-requests');
+    const existing = container.querySelector(`[data-request-id="${request.id}"]`);
+    const card = createRequestCard(request, true);
+    
+    if (existing) {
+        existing.replaceWith(card);
+    } else if (isNew) {
+        const placeholder = container.querySelector('.no-requests');
+        if (placeholder) {
+            placeholder.remove();
+        }
+        container.prepend(card);
+    }
+}
+
+// Drop a request that is no longer open
+function removeAvailableRequest(requestId) {
+    const card = document.querySelector(`#available-requests [data-request-id="${requestId}"]`);
+    if (card) {
+        card.remove();
     }
 }
 
@@ -95,13 +212,9 @@ async function loadMyRequests() {
     if (!currentUser) return;
     
     try {
-        const response = await fetch('/api/requests');
-        const data = await response.json();
-        
-        // Filter requests by current user
-        const myRequests = data.requests ? data.requests.filter(request => 
-            request.user.id === currentUser.id
-        ) : [];
+        // All of the user's requests, not just the open ones on the first feed page
+        const data = await fetchJsonCached(`/api/requests/users/${currentUser.id}`);
+        const myRequests = data.requests || [];
         
         const container = document.getElementById('my-requests');
         container.innerHTML = '';
@@ -267,9 +380,7 @@ document.getElementById('review-form').addEventListener('submit', async function
     try {
         const response = await fetch(`/api/reviews/requests/${currentReviewRequestId}`, {
             method: 'POST',
-            headers: {
-                'Content-Type': 'application/json',
-            },
+            headers: authHeaders(),
             body: JSON.stringify({
                 volunteerId: currentReviewVolunteerId,
                 rating: parseInt(rating),